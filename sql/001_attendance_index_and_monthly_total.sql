@@ -0,0 +1,25 @@
+-- 001: attendance lookups by employee + date range, and per-employee monthly totals.
+-- Apply once to payrollsystem_db after importing the base dump.
+
+-- Serves every "employee X between day A and day B" query (home dashboard,
+-- monthly totals, attendance pages) as an index range scan.
+CREATE INDEX idx_attendance_employee_date ON attendance (employeeID, `date`);
+
+-- One row per employee per month; kept current by AttendanceService on clock-out,
+-- auto clock-out and attendance edits, so the dashboard total is a primary-key read.
+CREATE TABLE IF NOT EXISTS attendance_monthly_total (
+    employeeID  INT           NOT NULL,
+    monthStart  DATE          NOT NULL,
+    workedHours DECIMAL(10,2) NOT NULL DEFAULT 0,
+    updatedAt   TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (employeeID, monthStart)
+);
+
+-- Backfill from existing attendance.
+INSERT INTO attendance_monthly_total (employeeID, monthStart, workedHours)
+SELECT employeeID,
+       DATE_FORMAT(`date`, '%Y-%m-01'),
+       COALESCE(SUM(workedHours), 0)
+  FROM attendance
+ GROUP BY employeeID, DATE_FORMAT(`date`, '%Y-%m-01')
+ON DUPLICATE KEY UPDATE workedHours = VALUES(workedHours);
@@ -0,0 +1,32 @@
+-- 002: at most one attendance row per employee per day.
+-- Clock-in/clock-out are upserts against this key (AttendanceService), so a double
+-- click can no longer insert a duplicate. Requires 001.
+
+-- Fold existing duplicates into the earliest row of each day: keep its logIn, take the
+-- latest logOut of the group if it has none, then delete the rest.
+UPDATE attendance k
+  JOIN (SELECT employeeID, `date`, MIN(attendanceID) AS keepID, MAX(logOut) AS lastOut
+          FROM attendance
+         GROUP BY employeeID, `date`
+        HAVING COUNT(*) > 1) d ON k.attendanceID = d.keepID
+   SET k.logOut      = d.lastOut,
+       k.workedHours = ROUND(TIMESTAMPDIFF(SECOND, k.logIn, d.lastOut) / 3600, 2)
+ WHERE k.logOut IS NULL AND d.lastOut IS NOT NULL;
+
+DELETE a
+  FROM attendance a
+  JOIN attendance b
+    ON a.employeeID = b.employeeID AND a.`date` = b.`date` AND a.attendanceID > b.attendanceID;
+
+-- The unique key covers (employeeID, date) lookups, so the plain index from 001 goes.
+ALTER TABLE attendance ADD UNIQUE KEY uq_attendance_employee_date (employeeID, `date`);
+DROP INDEX idx_attendance_employee_date ON attendance;
+
+-- Monthly totals may have counted the deleted duplicates.
+INSERT INTO attendance_monthly_total (employeeID, monthStart, workedHours)
+SELECT employeeID,
+       DATE_FORMAT(`date`, '%Y-%m-01'),
+       COALESCE(SUM(workedHours), 0)
+  FROM attendance
+ GROUP BY employeeID, DATE_FORMAT(`date`, '%Y-%m-01')
+ON DUPLICATE KEY UPDATE workedHours = VALUES(workedHours);
@@ -0,0 +1,42 @@
+-- 003: persisted payroll runs.
+-- Closing a month snapshots its v_motorph_payslip rows into `payslip` and records the
+-- month in `payroll_period` (PayslipService.closePeriod). Closed months are then read
+-- from `payslip` by key and never recomputed; only open months go through the view.
+
+CREATE TABLE IF NOT EXISTS payroll_period (
+    periodStart  DATE         NOT NULL,
+    periodEnd    DATE         NOT NULL,
+    closedAt     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    closedBy     VARCHAR(100) NULL,
+    payslipCount INT          NOT NULL,
+    PRIMARY KEY (periodStart),
+    UNIQUE KEY uq_payroll_period_end (periodEnd)
+);
+
+-- One row per employee per closed period; columns mirror v_motorph_payslip.
+CREATE TABLE IF NOT EXISTS payslip (
+    payslipNo                  VARCHAR(50)   NOT NULL,
+    employeeID                 INT           NOT NULL,
+    employeeName               VARCHAR(200)  NULL,
+    periodStartDate            DATE          NOT NULL,
+    periodEndDate              DATE          NOT NULL,
+    employeePositionDepartment VARCHAR(200)  NULL,
+    monthlyRate                DECIMAL(12,2) NOT NULL,
+    dailyRate                  DECIMAL(12,2) NOT NULL,
+    daysWorked                 DECIMAL(8,2)  NOT NULL,
+    overtimeHours              DECIMAL(8,2)  NOT NULL,
+    grossIncome                DECIMAL(12,2) NOT NULL,
+    riceSubsidy                DECIMAL(12,2) NOT NULL,
+    phoneAllowance             DECIMAL(12,2) NOT NULL,
+    clothingAllowance          DECIMAL(12,2) NOT NULL,
+    totalBenefits              DECIMAL(12,2) NOT NULL,
+    sss                        DECIMAL(12,2) NOT NULL,
+    philhealth                 DECIMAL(12,2) NOT NULL,
+    pagibig                    DECIMAL(12,2) NOT NULL,
+    withholdingTax             DECIMAL(12,2) NOT NULL,
+    totalDeductions            DECIMAL(12,2) NOT NULL,
+    takeHomePay                DECIMAL(12,2) NOT NULL,
+    PRIMARY KEY (payslipNo),
+    KEY idx_payslip_employee_period (employeeID, periodEndDate),
+    KEY idx_payslip_period (periodEndDate)
+);
@@ -0,0 +1,16 @@
+-- 004: resumable payroll runs. Requires 003.
+-- A period run (payroll.PayrollBatchRun) stores payslips chunk by chunk; each chunk's
+-- transaction also advances this checkpoint, so a failed run restarts after the last
+-- committed chunk. finishedAt is set when the period is recorded in payroll_period.
+
+CREATE TABLE IF NOT EXISTS payroll_run_checkpoint (
+    periodStart    DATE         NOT NULL,
+    lastEmployeeID INT          NOT NULL,
+    payslipCount   INT          NOT NULL,
+    chunks         INT          NOT NULL,
+    startedBy      VARCHAR(100) NULL,
+    startedAt      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updatedAt      TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    finishedAt     TIMESTAMP    NULL,
+    PRIMARY KEY (periodStart)
+);
@@ -0,0 +1,6 @@
+-- 005: attendance lookups by day across all employees. Requires 002.
+-- The unique key from 002 leads on employeeID, so predicates on `date` alone (the
+-- auto clock-out job's "date = ? AND logOut IS NULL", admin month views for everyone)
+-- would otherwise scan the whole table.
+
+CREATE INDEX idx_attendance_date ON attendance (`date`);
@@ -0,0 +1,90 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.Money;
+import util.MoneySum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The payroll deduction-and-total loop (PhilHealth employee share, Pag-IBIG, net total)
+ * through double, BigDecimal and centavo {@link Money} arithmetic.
+ *
+ * Run with the benchmark profile:
+ *
+ *   mvn -P benchmark test-compile exec:exec
+ *
+ * The three methods compute the same total; test.MoneyTest checks that the BigDecimal and
+ * Money paths agree exactly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoneyBenchmark {
+
+    @Param({"200000"})
+    int payslips;
+
+    double[] salaries;
+
+    private static final BigDecimal THREE  = new BigDecimal("0.03");
+    private static final BigDecimal TWO    = new BigDecimal("0.02");
+    private static final BigDecimal CAP_PH = new BigDecimal("1800");
+    private static final BigDecimal CAP_PI = new BigDecimal("100");
+    private static final BigDecimal HALF   = new BigDecimal("2");
+
+    private static final Money CAP_PH_HALF = Money.parse("900");
+    private static final Money CAP_PI_M    = Money.parse("100");
+
+    @Setup
+    public void setUp() {
+        salaries = new double[payslips];
+        for (int i = 0; i < payslips; i++) salaries[i] = 20_000 + (i % 9_000) * 7.77;
+    }
+
+    @Benchmark
+    public double doubles() {
+        double total = 0;
+        for (double s : salaries) total += s - Math.min(s * 0.03, 1800) / 2 - Math.min(s * 0.02, 100);
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (double s : salaries) {
+            BigDecimal b = BigDecimal.valueOf(s).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal ph = b.multiply(THREE).min(CAP_PH).divide(HALF, 2, RoundingMode.HALF_UP);
+            BigDecimal pi = b.multiply(TWO).min(CAP_PI).setScale(2, RoundingMode.HALF_UP);
+            total = total.add(b.subtract(ph).subtract(pi));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money centavos() {
+        MoneySum total = new MoneySum();
+        for (double s : salaries) {
+            Money m = Money.of(s);
+            Money ph = m.ratio(3, 200).min(CAP_PH_HALF);
+            Money pi = m.ratio(2, 100).min(CAP_PI_M);
+            total.addCentavos(m.centavos() - ph.centavos() - pi.centavos());
+        }
+        return total.total();
+    }
+}
@@ -2,7 +2,9 @@ package dao;
 
 import pojo.Attendance;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AttendanceDAO {
 
@@ -12,10 +14,25 @@ public interface AttendanceDAO {
 
     List<Attendance> getAttendanceByDate(java.sql.Date date) throws SQLException;
 
+    /** Rows dated in [from, to), optionally for one employee (null = all), ordered by date. */
+    List<Attendance> getAttendanceInRange(Integer employeeID, java.sql.Date from, java.sql.Date to) throws SQLException;
+
     List<Attendance> getAllAttendance() throws SQLException;
 
+    /** Distinct employee IDs that have at least one attendance row, ascending. */
+    List<Integer> getEmployeeIDsWithAttendance() throws SQLException;
+
+    /** Streams every attendance row without buffering the table; close the stream when done. */
+    Stream<Attendance> streamAllAttendance() throws SQLException;
+
+    /** Newest-first page ordered by (date, attendanceID); status filters are not supported. */
+    Page<Attendance> getAttendancePage(PageQuery query) throws SQLException;
+
     void addAttendance(Attendance attendance) throws SQLException;
 
+    /** Inserts all records in one transaction; returns (and sets) the new attendance IDs in order. */
+    List<Integer> addAttendanceBatch(Collection<Attendance> records) throws SQLException;
+
     void updateAttendance(Attendance attendance) throws SQLException;
 
     void deleteAttendance(int attendanceID) throws SQLException;
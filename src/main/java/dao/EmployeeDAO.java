@@ -2,7 +2,10 @@ package dao;
 
 import pojo.Employee;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface EmployeeDAO {
 
@@ -10,8 +13,17 @@ public interface EmployeeDAO {
 
     Employee getEmployeeByUserID(String userID) throws SQLException;
 
+    /** Employees for the given IDs, keyed by employeeID; unknown IDs are simply absent. */
+    Map<Integer, Employee> getEmployeesByIDs(Collection<Integer> employeeIDs) throws SQLException;
+
+    /** Employees for the given user IDs, keyed by userID; unknown IDs are simply absent. */
+    Map<String, Employee> getEmployeesByUserIDs(Collection<String> userIDs) throws SQLException;
+
     List<Employee> getAllEmployees() throws SQLException;
 
+    /** Streams every employee row without buffering the table; close the stream when done. */
+    Stream<Employee> streamAllEmployees() throws SQLException;
+
     void addEmployee(Employee employee) throws SQLException;
 
     void updateEmployee(Employee employee) throws SQLException;
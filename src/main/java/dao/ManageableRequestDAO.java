@@ -1,7 +1,11 @@
 package dao;
 
+import pojo.RequestRow;
+
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ManageableRequestDAO<T> {
 
@@ -11,10 +15,31 @@ public interface ManageableRequestDAO<T> {
 
     List<T> getAllRequests() throws SQLException;
 
+    /** Distinct employees owning any of these requests, ascending; chunked IN-list queries. */
+    List<Integer> getEmployeeIDsByRequestIDs(Collection<Integer> requestIDs) throws SQLException;
+
+    /** Like {@link #getRequestsByEmployeeID(int)} but joined with status/type/employee names. */
+    List<RequestRow<T>> getRequestRowsByEmployeeID(int employeeID) throws SQLException;
+
+    /** Like {@link #getAllRequests()} but joined with status/type/employee names. */
+    List<RequestRow<T>> getAllRequestRows() throws SQLException;
+
+    /** Streams every request row without buffering the table; close the stream when done. */
+    Stream<T> streamAllRequests() throws SQLException;
+
+    /** Newest-first page ordered by the request's date and ID, with optional filters. */
+    Page<T> getRequestPage(PageQuery query) throws SQLException;
+
     void addRequest(T request) throws SQLException;
 
+    /** Inserts all requests in one transaction; returns (and sets) the new request IDs in order. */
+    List<Integer> addRequestBatch(Collection<T> requests) throws SQLException;
+
     void updateApprovalStatus(int requestID, int approvalStatusID) throws SQLException;
 
+    /** Sets the same approval status on every request in one transaction; returns rows updated. */
+    int updateApprovalStatusBatch(Collection<Integer> requestIDs, int approvalStatusID) throws SQLException;
+
     void deleteRequest(int requestID) throws SQLException;
     
     void updateRequest(T request) throws SQLException;
@@ -0,0 +1,29 @@
+package dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/** One page of a keyset-paginated read plus the query for the page after it. */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final PageQuery next;
+
+    public Page(List<T> items, PageQuery next) {
+        this.items = Collections.unmodifiableList(items);
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+
+    /** Query for the following page, or null when this is the last one. */
+    public PageQuery nextQuery() {
+        return next;
+    }
+}
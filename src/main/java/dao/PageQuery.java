@@ -0,0 +1,89 @@
+package dao;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Filters and cursor for a keyset-paginated read.
+ *
+ * Pages are ordered newest first by a stable (key, id) pair, e.g. (date, attendanceID)
+ * or (dateCreated, leaveID). Instead of an OFFSET, the next page starts strictly after
+ * the last row already seen, so every page costs the same no matter how deep it is.
+ * Unset filters (null) are simply left out of the WHERE clause.
+ */
+public final class PageQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private Integer employeeID;
+    private Integer statusID;
+    private Date from;        // inclusive
+    private Date to;          // exclusive
+    private Timestamp afterKey;
+    private int afterID;
+    private int limit = DEFAULT_LIMIT;
+
+    public PageQuery() {
+    }
+
+    private PageQuery(PageQuery other) {
+        this.employeeID = other.employeeID;
+        this.statusID   = other.statusID;
+        this.from       = other.from;
+        this.to         = other.to;
+        this.afterKey   = other.afterKey;
+        this.afterID    = other.afterID;
+        this.limit      = other.limit;
+    }
+
+    /** Only rows of this employee (null = everyone). */
+    public PageQuery employee(Integer employeeID) {
+        this.employeeID = employeeID;
+        return this;
+    }
+
+    /** Only rows with this approval status (null = any). Not valid for attendance. */
+    public PageQuery status(Integer statusID) {
+        this.statusID = statusID;
+        return this;
+    }
+
+    /**
+     * Only rows whose key date falls in [from, to); either bound may be null. Leaves also
+     * match when their leave start or end falls in the range.
+     */
+    public PageQuery between(Date from, Date to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    /** Continue after the row with this key and id (both exclusive). */
+    public PageQuery after(Timestamp key, int id) {
+        this.afterKey = key;
+        this.afterID = id;
+        return this;
+    }
+
+    public PageQuery limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be in [1, " + MAX_LIMIT + "]");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public Integer getEmployeeID() { return employeeID; }
+    public Integer getStatusID()   { return statusID; }
+    public Date getFrom()          { return from; }
+    public Date getTo()            { return to; }
+    public Timestamp getAfterKey() { return afterKey; }
+    public int getAfterID()        { return afterID; }
+    public int getLimit()          { return limit; }
+
+    /** Same filters and limit, positioned after the given row. */
+    public PageQuery continueAfter(Timestamp key, int id) {
+        return new PageQuery(this).after(key, id);
+    }
+}
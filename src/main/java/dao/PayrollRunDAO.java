@@ -0,0 +1,53 @@
+package dao;
+
+import pojo.PayrollRunCheckpoint;
+import pojo.Payslip;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.List;
+
+/** Closed payroll periods and the payslips stored for them (see sql/003). */
+public interface PayrollRunDAO {
+
+    /** End date of the latest closed period, or null when none is closed. */
+    Date getLatestClosedPeriodEnd() throws SQLException;
+
+    boolean isPeriodClosed(Date periodStart) throws SQLException;
+
+    // ---- period runs (see payroll.PayrollBatchRun) ----
+
+    /** Session-scoped DB lock; closing it releases the lock and its connection. */
+    interface AdvisoryLock extends AutoCloseable {
+        @Override void close() throws SQLException;
+    }
+
+    /** Takes the named advisory lock without waiting; null if another session holds it. */
+    AdvisoryLock tryLock(String name) throws SQLException;
+
+    /** Progress of the period's run, or null if it never started. */
+    PayrollRunCheckpoint getCheckpoint(Date periodStart) throws SQLException;
+
+    /** Up to {@code limit} employee IDs greater than {@code afterEmployeeID}, ascending. */
+    List<Integer> getEmployeeIDsAfter(int afterEmployeeID, int limit) throws SQLException;
+
+    /**
+     * Stores one chunk of payslips and advances the checkpoint to {@code lastEmployeeID},
+     * in one transaction.
+     */
+    void writeChunk(Date periodStart, List<Payslip> payslips, int lastEmployeeID, String startedBy) throws SQLException;
+
+    /**
+     * Records the period as closed with the checkpoint's payslip count and marks the run
+     * finished, in one transaction. Fails with a constraint violation if already closed.
+     */
+    void finishRun(Date periodStart, Date periodEnd, String closedBy) throws SQLException;
+
+    Payslip getStoredPayslip(String payslipNo) throws SQLException;
+
+    /** Stored payslips of the employee with period end on or before {@code through}, newest first. */
+    List<Payslip> getStoredPayslipsByEmployeeID(int employeeID, Date through) throws SQLException;
+
+    /** Stored payslips whose period ends in [from, to), newest first. */
+    List<Payslip> getStoredPayslipsByPeriodEnd(Date from, Date to) throws SQLException;
+}
@@ -1,11 +1,33 @@
 package dao;
 
 import pojo.Payslip;
+import pojo.PayrollSummary;
+import java.sql.Date;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PayslipDAO {
     Payslip getPayslipByPayslipNo(String payslipNo) throws SQLException;
     List<Payslip> getPayslipsByEmployeeID(int employeeID) throws SQLException;
+
+    /** The employee's payslips whose period ends on or after {@code from}, newest first. */
+    List<Payslip> getPayslipsByEmployeeID(int employeeID, Date from) throws SQLException;
     List<Payslip> getAllPayslips() throws SQLException;
+
+    /** Payslips whose period ends in [from, to), newest first. */
+    List<Payslip> getPayslipsByPeriodEnd(Date from, Date to) throws SQLException;
+
+    /** Payslips of the given employees whose period ends in [from, to). */
+    List<Payslip> getPayslipsByEmployeeIDs(Collection<Integer> employeeIDs, Date from, Date to) throws SQLException;
+
+    /** Count and gross/contribution/deduction/net sums for periods ending in [from, to). */
+    PayrollSummary getPayrollSummary(Date from, Date to) throws SQLException;
+
+    /** Streams every payslip row without buffering the view; close the stream when done. */
+    Stream<Payslip> streamAllPayslips() throws SQLException;
+
+    /** Streams payslips whose period ends on or after {@code from}; close the stream when done. */
+    Stream<Payslip> streamPayslipsFrom(Date from) throws SQLException;
 }
\ No newline at end of file
@@ -1,33 +1,32 @@
 package daoimpl;
 
 import dao.AttendanceDAO;
+import dao.Page;
+import dao.PageQuery;
 import db.DatabaseConnection;
 import pojo.Attendance;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class AttendanceDAOImpl implements AttendanceDAO {
 
-    private Connection connection;
+    private final KeysetQuery<Attendance> pageQuery = new KeysetQuery<>(
+            "attendance", "date", "attendanceID", null, this::mapResultSetToAttendance,
+            a -> KeysetQuery.startOfDay(a.getDate()), Attendance::getAttendanceID);
 
-    public AttendanceDAOImpl() throws SQLException {
-        connection = DatabaseConnection.getInstance().getConnection();
-    }
-
-    /** Reacquire the connection if it was closed by server/timeout. */
-    private Connection ensureConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DatabaseConnection.getInstance().getConnection();
-        }
-        return connection;
+    public AttendanceDAOImpl() {
+        // stateless: every call borrows a pooled connection for its own duration
     }
 
     @Override
     public Attendance getAttendanceByID(int attendanceID) throws SQLException {
         String query = "SELECT * FROM attendance WHERE attendanceID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, attendanceID);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -42,7 +41,8 @@ public class AttendanceDAOImpl implements AttendanceDAO {
     public List<Attendance> getAttendanceByEmployeeID(int employeeID) throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
         String query = "SELECT * FROM attendance WHERE employeeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, employeeID);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -57,7 +57,8 @@ public class AttendanceDAOImpl implements AttendanceDAO {
     public List<Attendance> getAttendanceByDate(Date date) throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
         String query = "SELECT * FROM attendance WHERE date = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setDate(1, date);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -68,11 +69,34 @@ public class AttendanceDAOImpl implements AttendanceDAO {
         return attendanceList;
     }
 
+    @Override
+    public List<Attendance> getAttendanceInRange(Integer employeeID, Date from, Date to) throws SQLException {
+        List<Attendance> attendanceList = new ArrayList<>();
+        // half-open range on the bare column so the (employeeID, date) / date index can be used
+        String query = employeeID == null
+                ? "SELECT * FROM attendance WHERE date >= ? AND date < ? ORDER BY date, attendanceID"
+                : "SELECT * FROM attendance WHERE employeeID = ? AND date >= ? AND date < ? ORDER BY date, attendanceID";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            int i = 1;
+            if (employeeID != null) stmt.setInt(i++, employeeID);
+            stmt.setDate(i++, from);
+            stmt.setDate(i, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    attendanceList.add(mapResultSetToAttendance(rs));
+                }
+            }
+        }
+        return attendanceList;
+    }
+
     @Override
     public List<Attendance> getAllAttendance() throws SQLException {
         List<Attendance> attendanceList = new ArrayList<>();
         String query = "SELECT * FROM attendance";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 attendanceList.add(mapResultSetToAttendance(rs));
@@ -81,23 +105,65 @@ public class AttendanceDAOImpl implements AttendanceDAO {
         return attendanceList;
     }
 
+    @Override
+    public List<Integer> getEmployeeIDsWithAttendance() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        String query = "SELECT DISTINCT employeeID FROM attendance ORDER BY employeeID";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt("employeeID"));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Stream<Attendance> streamAllAttendance() throws SQLException {
+        return JdbcStreams.stream("SELECT * FROM attendance", this::mapResultSetToAttendance);
+    }
+
+    @Override
+    public Page<Attendance> getAttendancePage(PageQuery query) throws SQLException {
+        return pageQuery.fetch(query);
+    }
+
+    private static final String INSERT_ATTENDANCE =
+            "INSERT INTO attendance (date, logIn, logOut, workedHours, employeeID) VALUES (?, ?, ?, ?, ?)";
+
     @Override
     public void addAttendance(Attendance attendance) throws SQLException {
-        String query = "INSERT INTO attendance (date, logIn, logOut, workedHours, employeeID) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
-            stmt.setDate(1, attendance.getDate());
-            stmt.setTime(2, attendance.getLogIn());
-            stmt.setTime(3, attendance.getLogOut());
-            stmt.setDouble(4, attendance.getWorkedHours());
-            stmt.setInt(5, attendance.getEmployeeID());
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_ATTENDANCE)) {
+            bindInsert(stmt, attendance);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public List<Integer> addAttendanceBatch(Collection<Attendance> records) throws SQLException {
+        List<Integer> ids = JdbcBatch.insert(INSERT_ATTENDANCE, records, AttendanceDAOImpl::bindInsert);
+        int i = 0;
+        for (Attendance a : records) {
+            if (i < ids.size()) a.setAttendanceID(ids.get(i++));
+        }
+        return ids;
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Attendance attendance) throws SQLException {
+        stmt.setDate(1, attendance.getDate());
+        stmt.setTime(2, attendance.getLogIn());
+        stmt.setTime(3, attendance.getLogOut());
+        stmt.setDouble(4, attendance.getWorkedHours());
+        stmt.setInt(5, attendance.getEmployeeID());
+    }
+
     @Override
     public void updateAttendance(Attendance attendance) throws SQLException {
         String query = "UPDATE attendance SET date = ?, logIn = ?, logOut = ?, workedHours = ?, employeeID = ? WHERE attendanceID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setDate(1, attendance.getDate());
             stmt.setTime(2, attendance.getLogIn());
             stmt.setTime(3, attendance.getLogOut());
@@ -111,7 +177,8 @@ public class AttendanceDAOImpl implements AttendanceDAO {
     @Override
     public void deleteAttendance(int attendanceID) throws SQLException {
         String query = "DELETE FROM attendance WHERE attendanceID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, attendanceID);
             stmt.executeUpdate();
         }
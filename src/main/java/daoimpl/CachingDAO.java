@@ -0,0 +1,155 @@
+package daoimpl;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Read-through caching decorator for a DAO interface, backed by {@link QueryCache}.
+ *
+ * - {@code get*} methods whose arguments are all plain values (numbers, strings, dates,
+ *   enums or collections of those) are cached under the method + arguments, tagged with
+ *   the tables the DAO reads. Dates and collections are copied into the key, so a caller
+ *   mutating its argument afterwards cannot corrupt the entry. Streams, pages and void
+ *   methods always go to the database.
+ * - {@code add*}, {@code update*}, {@code delete*}, {@code insert*} and {@code remove*}
+ *   methods run against the database and then evict the tables the DAO writes.
+ *
+ * A read that overlaps a write of one of its tables is returned but not cached (see
+ * {@link QueryCache#generation(String[])}).
+ *
+ * Cached lists and maps are handed out as fresh copies; the row objects inside them are
+ * shared, so callers must not mutate what a cached read returns (edit a copy, as the
+ * leave and overtime update pages do).
+ */
+public final class CachingDAO {
+
+    private static final Object ABSENT = new Object();
+    private static final Object NULL   = new Object();
+
+    private CachingDAO() { }
+
+    public static <T> T wrap(Class<T> iface, T target, List<String> readTables, List<String> writeTables) {
+        return wrap(iface, target, readTables, writeTables, QueryCache.shared());
+    }
+
+    public static <T> T wrap(Class<T> iface, T target, List<String> readTables, List<String> writeTables,
+                             QueryCache cache) {
+        String[] reads = readTables.toArray(new String[0]);
+        List<String> writes = List.copyOf(writeTables);
+
+        Object proxy = Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, (p, m, args) -> {
+            if (m.getDeclaringClass() == Object.class) return objectMethod(p, m, args, target);
+
+            if (isWrite(m)) {
+                try {
+                    return invoke(target, m, args);
+                } finally {
+                    cache.evict(writes);
+                }
+            }
+            if (!isCacheable(m, args)) return invoke(target, m, args);
+
+            List<Object> key = new ArrayList<>(1 + (args != null ? args.length : 0));
+            key.add(iface.getName() + "#" + m.getName() + Arrays.toString(m.getParameterTypes()));
+            if (args != null) {
+                for (Object a : args) key.add(keyPart(a));
+            }
+
+            Object cached = cache.get(key, ABSENT);
+            if (cached == ABSENT) {
+                long generation = cache.generation(reads);
+                Object fresh = invoke(target, m, args);
+                cache.put(key, fresh == null ? NULL : fresh, reads, generation);
+                cached = fresh;
+            } else if (cached == NULL) {
+                cached = null;
+            }
+            return copyOf(cached);
+        });
+        return iface.cast(proxy);
+    }
+
+    // ---- internals ----
+
+    private static boolean isWrite(Method m) {
+        String n = m.getName();
+        return n.startsWith("add") || n.startsWith("update") || n.startsWith("delete")
+                || n.startsWith("insert") || n.startsWith("remove");
+    }
+
+    private static boolean isCacheable(Method m, Object[] args) {
+        if (!m.getName().startsWith("get")) return false;
+        Class<?> rt = m.getReturnType();
+        if (rt == void.class || Stream.class.isAssignableFrom(rt)) return false;
+        if (args != null) {
+            for (Object a : args) {
+                if (!isKeyValue(a)) return false;
+            }
+        }
+        return true;
+    }
+
+    /** Values with a reliable equals/hashCode that will not change while cached. */
+    private static boolean isKeyValue(Object a) {
+        if (a == null || a instanceof Number || a instanceof String || a instanceof Boolean
+                || a instanceof Character || a instanceof Enum) return true;
+        if (a instanceof Date) return true;
+        if (a instanceof Collection) {
+            for (Object o : (Collection<?>) a) {
+                if (!isKeyValue(o)) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /** Immutable stand-in for an argument: dates are cloned, collections copied element-wise. */
+    private static Object keyPart(Object a) {
+        if (a instanceof Date) return ((Date) a).clone();
+        if (a instanceof Set) {
+            Set<Object> copy = new HashSet<>();
+            for (Object o : (Set<?>) a) copy.add(keyPart(o));
+            return Collections.unmodifiableSet(copy);
+        }
+        if (a instanceof Collection) {
+            List<Object> copy = new ArrayList<>();
+            for (Object o : (Collection<?>) a) copy.add(keyPart(o));
+            return Collections.unmodifiableList(copy);
+        }
+        return a;
+    }
+
+    private static Object copyOf(Object v) {
+        if (v instanceof List) return new ArrayList<>((List<?>) v);
+        if (v instanceof Map) return new LinkedHashMap<>((Map<?, ?>) v);
+        return v;
+    }
+
+    private static Object invoke(Object target, Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object objectMethod(Object proxy, Method m, Object[] args, Object target) {
+        switch (m.getName()) {
+            case "equals":   return proxy == args[0];
+            case "hashCode": return System.identityHashCode(proxy);
+            default:         return "CachingDAO[" + target + "]";
+        }
+    }
+}
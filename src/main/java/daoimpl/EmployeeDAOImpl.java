@@ -6,10 +6,18 @@ import pojo.Employee;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class EmployeeDAOImpl implements EmployeeDAO {
 
+    /** Max values per IN (...) list; larger inputs are split into several queries. */
+    private static final int IN_CHUNK_SIZE = 500;
+
     public EmployeeDAOImpl() {
         // nothing to do here any more
     }
@@ -46,6 +54,60 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         return null;
     }
 
+    @Override
+    public Map<Integer, Employee> getEmployeesByIDs(Collection<Integer> employeeIDs) throws SQLException {
+        Map<Integer, Employee> result = new LinkedHashMap<>();
+        for (List<Integer> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(employeeIDs)))) {
+            String sql = "SELECT * FROM employee WHERE employeeID IN (" + placeholders(chunk.size()) + ")";
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Employee e = mapResultSetToEmployee(rs);
+                        result.put(e.getEmployeeID(), e);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Employee> getEmployeesByUserIDs(Collection<String> userIDs) throws SQLException {
+        Map<String, Employee> result = new LinkedHashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(new LinkedHashSet<>(userIDs)))) {
+            String sql = "SELECT * FROM employee WHERE userID IN (" + placeholders(chunk.size()) + ")";
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setString(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Employee e = mapResultSetToEmployee(rs);
+                        result.put(e.getUserID(), e);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> out = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CHUNK_SIZE) {
+            out.add(values.subList(from, Math.min(values.size(), from + IN_CHUNK_SIZE)));
+        }
+        return out;
+    }
+
+    private static String placeholders(int n) {
+        return String.join(", ", java.util.Collections.nCopies(n, "?"));
+    }
+
     @Override
     public List<Employee> getAllEmployees() throws SQLException {
         List<Employee> list = new ArrayList<>();
@@ -61,6 +123,11 @@ public class EmployeeDAOImpl implements EmployeeDAO {
         return list;
     }
 
+    @Override
+    public Stream<Employee> streamAllEmployees() throws SQLException {
+        return JdbcStreams.stream("SELECT * FROM employee", this::mapResultSetToEmployee);
+    }
+
     @Override
     public void addEmployee(Employee employee) throws SQLException {
         String sql = "INSERT INTO employee " +
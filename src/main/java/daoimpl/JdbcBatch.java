@@ -0,0 +1,113 @@
+package daoimpl;
+
+import db.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Multi-row writes for the DAOs: one connection, one transaction, JDBC batches.
+ *
+ * With {@code rewriteBatchedStatements=true} on the URL (see DatabaseConnection) Connector/J
+ * turns each INSERT batch into multi-row {@code INSERT ... VALUES (...), (...)} statements,
+ * so a thousand rows cost a handful of round trips instead of a thousand. Any failure rolls
+ * the whole call back.
+ */
+final class JdbcBatch {
+
+    /** Rows sent per executeBatch(); keeps packets well under max_allowed_packet. */
+    static final int CHUNK_SIZE = 500;
+
+    /** Binds one row's parameters. */
+    @FunctionalInterface
+    interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    private JdbcBatch() { }
+
+    /** Inserts every row and returns the generated keys in input order. */
+    static <T> List<Integer> insert(String sql, Collection<? extends T> rows, RowBinder<T> binder) throws SQLException {
+        List<Integer> keys = new ArrayList<>(rows.size());
+        if (rows.isEmpty()) return keys;
+
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int pending = 0;
+                for (T row : rows) {
+                    binder.bind(ps, row);
+                    ps.addBatch();
+                    if (++pending == CHUNK_SIZE) {
+                        flush(ps, keys);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) flush(ps, keys);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return keys;
+    }
+
+    /** Runs the statement once per row and returns the total number of rows affected. */
+    static <T> int update(String sql, Collection<? extends T> rows, RowBinder<T> binder) throws SQLException {
+        if (rows.isEmpty()) return 0;
+
+        int affected;
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                affected = update(conn, sql, rows, binder);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return affected;
+    }
+
+    /** Same as {@link #update(String, Collection, RowBinder)} inside the caller's transaction. */
+    static <T> int update(Connection conn, String sql, Collection<? extends T> rows, RowBinder<T> binder) throws SQLException {
+        int affected = 0;
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int pending = 0;
+            for (T row : rows) {
+                binder.bind(ps, row);
+                ps.addBatch();
+                if (++pending == CHUNK_SIZE) {
+                    affected += sum(ps.executeBatch());
+                    pending = 0;
+                }
+            }
+            if (pending > 0) affected += sum(ps.executeBatch());
+        }
+        return affected;
+    }
+
+    private static void flush(PreparedStatement ps, List<Integer> keys) throws SQLException {
+        ps.executeBatch();
+        try (ResultSet rs = ps.getGeneratedKeys()) {
+            while (rs.next()) keys.add(rs.getInt(1));
+        }
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) {
+            // rewritten batches may report SUCCESS_NO_INFO instead of a count
+            total += (c == Statement.SUCCESS_NO_INFO) ? 1 : Math.max(c, 0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,80 @@
+package daoimpl;
+
+import db.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Row-at-a-time reads for full-table DAO queries.
+ *
+ * Uses MySQL streaming fetch (forward-only, read-only, fetchSize = Integer.MIN_VALUE),
+ * so the driver never buffers the whole result. The returned stream owns a pooled
+ * connection until it is closed — always use it in try-with-resources.
+ */
+final class JdbcStreams {
+
+    /** Maps the current row of a result set. */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /** Binds parameters before execution. */
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    private JdbcStreams() { }
+
+    static <T> Stream<T> stream(String sql, RowMapper<T> mapper) throws SQLException {
+        return stream(sql, ps -> { }, mapper);
+    }
+
+    static <T> Stream<T> stream(String sql, Binder binder, RowMapper<T> mapper) throws SQLException {
+        Connection conn = DatabaseConnection.getInstance().getConnection();
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE); // Connector/J: stream rows instead of buffering
+            binder.bind(ps);
+            rs = ps.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeAll(rs, ps, conn);
+            throw e;
+        }
+
+        final ResultSet cursor = rs;
+        final PreparedStatement stmt = ps;
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) return false;
+                    action.accept(mapper.map(cursor));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException("Error reading streamed row", e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> closeAll(cursor, stmt, conn));
+    }
+
+    private static void closeAll(ResultSet rs, PreparedStatement ps, Connection conn) {
+        try { if (rs != null) rs.close(); } catch (SQLException ignored) { }
+        try { if (ps != null) ps.close(); } catch (SQLException ignored) { }
+        try { conn.close(); } catch (SQLException ignored) { }
+    }
+}
@@ -0,0 +1,119 @@
+package daoimpl;
+
+import dao.Page;
+import dao.PageQuery;
+import db.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keyset ("seek") pagination over one table, newest first by (keyColumn, idColumn).
+ *
+ * Builds {@code WHERE ... AND (key < ? OR (key = ? AND id < ?)) ORDER BY key DESC, id DESC LIMIT n+1};
+ * the extra row only tells whether another page exists and is not returned.
+ *
+ * A [from, to) filter applies to the key column and to any extra range columns, matching
+ * a row if any of them falls in the range (e.g. a leave created, starting or ending in a month).
+ */
+final class KeysetQuery<T> {
+
+    private final String table;
+    private final String keyColumn;
+    private final String idColumn;
+    private final String statusColumn; // null when the table has no approval status
+    private final JdbcStreams.RowMapper<T> mapper;
+    private final Function<T, Timestamp> keyOf;
+    private final ToIntFunction<T> idOf;
+    private final List<String> rangeColumns;
+
+    KeysetQuery(String table, String keyColumn, String idColumn, String statusColumn,
+                JdbcStreams.RowMapper<T> mapper, Function<T, Timestamp> keyOf, ToIntFunction<T> idOf,
+                String... extraRangeColumns) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.idColumn = idColumn;
+        this.statusColumn = statusColumn;
+        this.mapper = mapper;
+        this.keyOf = keyOf;
+        this.idOf = idOf;
+        this.rangeColumns = new ArrayList<>();
+        this.rangeColumns.add(keyColumn);
+        this.rangeColumns.addAll(Arrays.asList(extraRangeColumns));
+    }
+
+    Page<T> fetch(PageQuery q) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table).append(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (q.getEmployeeID() != null) {
+            sql.append(" AND employeeID = ?");
+            params.add(q.getEmployeeID());
+        }
+        if (q.getStatusID() != null) {
+            if (statusColumn == null) {
+                throw new IllegalArgumentException(table + " has no status to filter on");
+            }
+            sql.append(" AND ").append(statusColumn).append(" = ?");
+            params.add(q.getStatusID());
+        }
+        if (q.getFrom() != null || q.getTo() != null) {
+            List<String> anyOf = new ArrayList<>();
+            for (String column : rangeColumns) {
+                List<String> bounds = new ArrayList<>();
+                if (q.getFrom() != null) {
+                    bounds.add(column + " >= ?");
+                    params.add(q.getFrom());
+                }
+                if (q.getTo() != null) {
+                    bounds.add(column + " < ?");
+                    params.add(q.getTo());
+                }
+                anyOf.add("(" + String.join(" AND ", bounds) + ")");
+            }
+            sql.append(" AND (").append(String.join(" OR ", anyOf)).append(")");
+        }
+        if (q.getAfterKey() != null) {
+            sql.append(" AND (").append(keyColumn).append(" < ? OR (")
+               .append(keyColumn).append(" = ? AND ").append(idColumn).append(" < ?))");
+            params.add(q.getAfterKey());
+            params.add(q.getAfterKey());
+            params.add(q.getAfterID());
+        }
+        sql.append(" ORDER BY ").append(keyColumn).append(" DESC, ").append(idColumn).append(" DESC LIMIT ?");
+        params.add(q.getLimit() + 1);
+
+        List<T> rows = new ArrayList<>(Math.min(q.getLimit() + 1, 256));
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.map(rs));
+                }
+            }
+        }
+
+        if (rows.size() <= q.getLimit()) {
+            return new Page<>(rows, null);
+        }
+        rows.remove(rows.size() - 1);
+        T last = rows.get(rows.size() - 1);
+        return new Page<>(rows, q.continueAfter(keyOf.apply(last), idOf.applyAsInt(last)));
+    }
+
+    /** Cursor key for DATE columns, compared by MySQL as midnight of that day. */
+    static Timestamp startOfDay(java.sql.Date date) {
+        return date == null ? null : Timestamp.valueOf(date.toLocalDate().atStartOfDay());
+    }
+}
@@ -1,32 +1,61 @@
 package daoimpl;
 
 import dao.ManageableRequestDAO;
+import dao.Page;
+import dao.PageQuery;
 import db.DatabaseConnection;
 import pojo.Leave;
+import pojo.RequestRow;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 public class LeaveDAOImpl implements ManageableRequestDAO<Leave> {
 
-    private Connection connection;
+    /** Max values per IN (...) list; larger inputs are split into several queries. */
+    private static final int IN_CHUNK_SIZE = 500;
 
-    public LeaveDAOImpl() throws SQLException {
-        connection = DatabaseConnection.getInstance().getConnection();
+    private final KeysetQuery<Leave> pageQuery = new KeysetQuery<>(
+            "leaves", "dateCreated", "leaveID", "approvalStatusID", this::mapResultSetToLeave,
+            l -> KeysetQuery.startOfDay(l.getDateCreated()), Leave::getLeaveID, "leaveStart", "leaveEnd");
+
+    public LeaveDAOImpl() {
+        // stateless: every call borrows a pooled connection for its own duration
     }
 
-    private Connection ensureConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DatabaseConnection.getInstance().getConnection();
+    @Override
+    public List<Integer> getEmployeeIDsByRequestIDs(Collection<Integer> requestIDs) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(requestIDs));
+        Set<Integer> owners = new TreeSet<>();
+        for (int start = 0; start < ids.size(); start += IN_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + IN_CHUNK_SIZE));
+            String sql = "SELECT DISTINCT employeeID FROM leaves WHERE leaveID IN ("
+                       + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int i = 1;
+                for (Integer id : chunk) stmt.setInt(i++, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        owners.add(rs.getInt("employeeID"));
+                    }
+                }
+            }
         }
-        return connection;
+        return new ArrayList<>(owners);
     }
 
     @Override
     public Leave getRequestByID(int requestID) throws SQLException {
         String query = "SELECT * FROM leaves WHERE leaveID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, requestID);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -41,7 +70,8 @@ public class LeaveDAOImpl implements ManageableRequestDAO<Leave> {
     public List<Leave> getRequestsByEmployeeID(int employeeID) throws SQLException {
         List<Leave> leaveList = new ArrayList<>();
         String query = "SELECT * FROM leaves WHERE employeeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, employeeID);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -56,7 +86,8 @@ public class LeaveDAOImpl implements ManageableRequestDAO<Leave> {
        public List<Leave> getAllRequests() throws SQLException {
         List<Leave> leaveList = new ArrayList<>();
         String query = "SELECT * FROM leaves";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 leaveList.add(mapResultSetToLeave(rs));
@@ -65,36 +96,122 @@ public class LeaveDAOImpl implements ManageableRequestDAO<Leave> {
         return leaveList;
     }
 
+    // One query per table refresh instead of two name lookups per row
+    private static final String SELECT_ROWS =
+            "SELECT l.*, a.approvalStatus, t.leaveType, "
+          + "       CONCAT(e.firstName, ' ', e.lastName) AS employeeName "
+          + "  FROM leaves l "
+          + "  LEFT JOIN approvalstatus a ON l.approvalStatusID = a.approvalStatusID "
+          + "  LEFT JOIN leavetype t      ON l.leaveTypeID = t.leaveTypeID "
+          + "  LEFT JOIN employee e       ON l.employeeID = e.employeeID ";
+
+    @Override
+    public List<RequestRow<Leave>> getRequestRowsByEmployeeID(int employeeID) throws SQLException {
+        List<RequestRow<Leave>> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ROWS + "WHERE l.employeeID = ?")) {
+            stmt.setInt(1, employeeID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapResultSetToRow(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<RequestRow<Leave>> getAllRequestRows() throws SQLException {
+        List<RequestRow<Leave>> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ROWS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(mapResultSetToRow(rs));
+            }
+        }
+        return rows;
+    }
+
+    private RequestRow<Leave> mapResultSetToRow(ResultSet rs) throws SQLException {
+        return new RequestRow<>(
+                mapResultSetToLeave(rs),
+                nullToEmpty(rs.getString("approvalStatus")),
+                nullToEmpty(rs.getString("leaveType")),
+                nullToEmpty(rs.getString("employeeName")));
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    @Override
+    public Stream<Leave> streamAllRequests() throws SQLException {
+        return JdbcStreams.stream("SELECT * FROM leaves", this::mapResultSetToLeave);
+    }
+
+    @Override
+    public Page<Leave> getRequestPage(PageQuery query) throws SQLException {
+        return pageQuery.fetch(query);
+    }
+
+    private static final String INSERT_LEAVE =
+            "INSERT INTO leaves (leaveAllowance, leaveStart, leaveEnd, leaveReason, dateCreated, employeeID, approvalStatusID, leaveTypeID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_APPROVAL = "UPDATE leaves SET approvalStatusID = ? WHERE leaveID = ?";
+
     @Override
     public void addRequest(Leave leave) throws SQLException {
-        String query = "INSERT INTO leaves (leaveAllowance, leaveStart, leaveEnd, leaveReason, dateCreated, employeeID, approvalStatusID, leaveTypeID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
-            stmt.setDouble(1, leave.getLeaveAllowance());
-            stmt.setDate(2, leave.getLeaveStart());
-            stmt.setDate(3, leave.getLeaveEnd());
-            stmt.setString(4, leave.getLeaveReason());
-            stmt.setDate(5, leave.getDateCreated());
-            stmt.setInt(6, leave.getEmployeeID());
-            stmt.setInt(7, leave.getApprovalStatusID());
-            stmt.setInt(8, leave.getLeaveTypeID());
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_LEAVE)) {
+            bindInsert(stmt, leave);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public List<Integer> addRequestBatch(Collection<Leave> requests) throws SQLException {
+        List<Integer> ids = JdbcBatch.insert(INSERT_LEAVE, requests, LeaveDAOImpl::bindInsert);
+        int i = 0;
+        for (Leave l : requests) {
+            if (i < ids.size()) l.setLeaveID(ids.get(i++));
+        }
+        return ids;
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Leave leave) throws SQLException {
+        stmt.setDouble(1, leave.getLeaveAllowance());
+        stmt.setDate(2, leave.getLeaveStart());
+        stmt.setDate(3, leave.getLeaveEnd());
+        stmt.setString(4, leave.getLeaveReason());
+        stmt.setDate(5, leave.getDateCreated());
+        stmt.setInt(6, leave.getEmployeeID());
+        stmt.setInt(7, leave.getApprovalStatusID());
+        stmt.setInt(8, leave.getLeaveTypeID());
+    }
+
     @Override
     public void updateApprovalStatus(int requestID, int approvalStatusID) throws SQLException {
-        String query = "UPDATE leaves SET approvalStatusID = ? WHERE leaveID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_APPROVAL)) {
             stmt.setInt(1, approvalStatusID);
             stmt.setInt(2, requestID);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public int updateApprovalStatusBatch(Collection<Integer> requestIDs, int approvalStatusID) throws SQLException {
+        return JdbcBatch.update(UPDATE_APPROVAL, requestIDs, (stmt, id) -> {
+            stmt.setInt(1, approvalStatusID);
+            stmt.setInt(2, id);
+        });
+    }
+
     @Override
     public void deleteRequest(int requestID) throws SQLException {
         String query = "DELETE FROM leaves WHERE leaveID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, requestID);
             stmt.executeUpdate();
         }
@@ -114,33 +231,20 @@ public class LeaveDAOImpl implements ManageableRequestDAO<Leave> {
         return leave;
     }
 
-    // Convenience lookups (unchanged, now via ensureConnection)
+    // Convenience lookups, served from the reference-data cache
     public String getApprovalStatusName(int approvalStatusID) throws SQLException {
-        String query = "SELECT approvalStatus FROM approvalstatus WHERE approvalStatusID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
-            stmt.setInt(1, approvalStatusID);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) return rs.getString("approvalStatus");
-            }
-        }
-        return "";
+        return ReferenceDataCache.getInstance().approvalStatuses().name(approvalStatusID);
     }
 
     public String getLeaveTypeName(int leaveTypeID) throws SQLException {
-        String query = "SELECT leaveType FROM leavetype WHERE leaveTypeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
-            stmt.setInt(1, leaveTypeID);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) return rs.getString("leaveType");
-            }
-        }
-        return "";
+        return ReferenceDataCache.getInstance().leaveTypes().name(leaveTypeID);
     }
 
     @Override
     public void updateRequest(Leave leave) throws SQLException {
         String query = "UPDATE leaves SET leaveAllowance = ?, leaveStart = ?, leaveEnd = ?, leaveReason = ?, dateCreated = ?, employeeID = ?, approvalStatusID = ?, leaveTypeID = ? WHERE leaveID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setDouble(1, leave.getLeaveAllowance());
             stmt.setDate(2, leave.getLeaveStart());
             stmt.setDate(3, leave.getLeaveEnd());
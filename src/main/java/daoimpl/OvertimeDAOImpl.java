@@ -1,32 +1,61 @@
 package daoimpl;
 
 import dao.ManageableRequestDAO;
+import dao.Page;
+import dao.PageQuery;
 import db.DatabaseConnection;
 import pojo.Overtime;
+import pojo.RequestRow;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 public class OvertimeDAOImpl implements ManageableRequestDAO<Overtime> {
 
-    private Connection connection;
+    /** Max values per IN (...) list; larger inputs are split into several queries. */
+    private static final int IN_CHUNK_SIZE = 500;
 
-    public OvertimeDAOImpl() throws SQLException {
-        connection = DatabaseConnection.getInstance().getConnection();
+    private final KeysetQuery<Overtime> pageQuery = new KeysetQuery<>(
+            "overtime", "overtimeStart", "overtimeID", "approvalStatusID", this::mapResultSetToOvertime,
+            Overtime::getOvertimeStart, Overtime::getOvertimeID);
+
+    public OvertimeDAOImpl() {
+        // stateless: every call borrows a pooled connection for its own duration
     }
 
-    private Connection ensureConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DatabaseConnection.getInstance().getConnection();
+    @Override
+    public List<Integer> getEmployeeIDsByRequestIDs(Collection<Integer> requestIDs) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(requestIDs));
+        Set<Integer> owners = new TreeSet<>();
+        for (int start = 0; start < ids.size(); start += IN_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + IN_CHUNK_SIZE));
+            String sql = "SELECT DISTINCT employeeID FROM overtime WHERE overtimeID IN ("
+                       + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int i = 1;
+                for (Integer id : chunk) stmt.setInt(i++, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        owners.add(rs.getInt("employeeID"));
+                    }
+                }
+            }
         }
-        return connection;
+        return new ArrayList<>(owners);
     }
 
     @Override
     public Overtime getRequestByID(int requestID) throws SQLException {
         String query = "SELECT * FROM overtime WHERE overtimeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, requestID);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -41,7 +70,8 @@ public class OvertimeDAOImpl implements ManageableRequestDAO<Overtime> {
     public List<Overtime> getRequestsByEmployeeID(int employeeID) throws SQLException {
         List<Overtime> overtimeList = new ArrayList<>();
         String query = "SELECT * FROM overtime WHERE employeeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, employeeID);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -56,7 +86,8 @@ public class OvertimeDAOImpl implements ManageableRequestDAO<Overtime> {
     public List<Overtime> getAllRequests() throws SQLException {
         List<Overtime> overtimeList = new ArrayList<>();
         String query = "SELECT * FROM overtime";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 overtimeList.add(mapResultSetToOvertime(rs));
@@ -65,33 +96,112 @@ public class OvertimeDAOImpl implements ManageableRequestDAO<Overtime> {
         return overtimeList;
     }
 
+    private static final String SELECT_ROWS =
+            "SELECT o.*, a.approvalStatus, "
+          + "       CONCAT(e.firstName, ' ', e.lastName) AS employeeName "
+          + "  FROM overtime o "
+          + "  LEFT JOIN approvalstatus a ON o.approvalStatusID = a.approvalStatusID "
+          + "  LEFT JOIN employee e       ON o.employeeID = e.employeeID ";
+
+    @Override
+    public List<RequestRow<Overtime>> getRequestRowsByEmployeeID(int employeeID) throws SQLException {
+        List<RequestRow<Overtime>> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ROWS + "WHERE o.employeeID = ?")) {
+            stmt.setInt(1, employeeID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapResultSetToRow(rs));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<RequestRow<Overtime>> getAllRequestRows() throws SQLException {
+        List<RequestRow<Overtime>> rows = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ROWS);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(mapResultSetToRow(rs));
+            }
+        }
+        return rows;
+    }
+
+    private RequestRow<Overtime> mapResultSetToRow(ResultSet rs) throws SQLException {
+        String status = rs.getString("approvalStatus");
+        String name = rs.getString("employeeName");
+        return new RequestRow<>(mapResultSetToOvertime(rs),
+                status == null ? "" : status, null, name == null ? "" : name);
+    }
+
+    @Override
+    public Stream<Overtime> streamAllRequests() throws SQLException {
+        return JdbcStreams.stream("SELECT * FROM overtime", this::mapResultSetToOvertime);
+    }
+
+    @Override
+    public Page<Overtime> getRequestPage(PageQuery query) throws SQLException {
+        return pageQuery.fetch(query);
+    }
+
+    private static final String INSERT_OVERTIME =
+            "INSERT INTO overtime (overtimeStart, overtimeEnd, overtimeReason, approvalStatusID, employeeID) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_APPROVAL = "UPDATE overtime SET approvalStatusID = ? WHERE overtimeID = ?";
+
     @Override
     public void addRequest(Overtime overtime) throws SQLException {
-        String query = "INSERT INTO overtime (overtimeStart, overtimeEnd, overtimeReason, approvalStatusID, employeeID) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
-            stmt.setTimestamp(1, overtime.getOvertimeStart());
-            stmt.setTimestamp(2, overtime.getOvertimeEnd());
-            stmt.setString(3, overtime.getOvertimeReason());
-            stmt.setInt(4, overtime.getApprovalStatusID());
-            stmt.setInt(5, overtime.getEmployeeID());
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_OVERTIME)) {
+            bindInsert(stmt, overtime);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public List<Integer> addRequestBatch(Collection<Overtime> requests) throws SQLException {
+        List<Integer> ids = JdbcBatch.insert(INSERT_OVERTIME, requests, OvertimeDAOImpl::bindInsert);
+        int i = 0;
+        for (Overtime o : requests) {
+            if (i < ids.size()) o.setOvertimeID(ids.get(i++));
+        }
+        return ids;
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Overtime overtime) throws SQLException {
+        stmt.setTimestamp(1, overtime.getOvertimeStart());
+        stmt.setTimestamp(2, overtime.getOvertimeEnd());
+        stmt.setString(3, overtime.getOvertimeReason());
+        stmt.setInt(4, overtime.getApprovalStatusID());
+        stmt.setInt(5, overtime.getEmployeeID());
+    }
+
     @Override
     public void updateApprovalStatus(int requestID, int approvalStatusID) throws SQLException {
-        String query = "UPDATE overtime SET approvalStatusID = ? WHERE overtimeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_APPROVAL)) {
             stmt.setInt(1, approvalStatusID);
             stmt.setInt(2, requestID);
             stmt.executeUpdate();
         }
     }
 
+    @Override
+    public int updateApprovalStatusBatch(Collection<Integer> requestIDs, int approvalStatusID) throws SQLException {
+        return JdbcBatch.update(UPDATE_APPROVAL, requestIDs, (stmt, id) -> {
+            stmt.setInt(1, approvalStatusID);
+            stmt.setInt(2, id);
+        });
+    }
+
     @Override
     public void deleteRequest(int requestID) throws SQLException {
         String query = "DELETE FROM overtime WHERE overtimeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setInt(1, requestID);
             stmt.executeUpdate();
         }
@@ -111,7 +221,8 @@ public class OvertimeDAOImpl implements ManageableRequestDAO<Overtime> {
     @Override
     public void updateRequest(Overtime overtime) throws SQLException {
         String query = "UPDATE overtime SET overtimeStart = ?, overtimeEnd = ?, overtimeReason = ?, approvalStatusID = ?, employeeID = ? WHERE overtimeID = ?";
-        try (PreparedStatement stmt = ensureConnection().prepareStatement(query)) {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setTimestamp(1, overtime.getOvertimeStart());
             stmt.setTimestamp(2, overtime.getOvertimeEnd());
             stmt.setString(3, overtime.getOvertimeReason());
@@ -0,0 +1,267 @@
+package daoimpl;
+
+import dao.PayrollRunDAO;
+import db.DatabaseConnection;
+import pojo.PayrollRunCheckpoint;
+import pojo.Payslip;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PayrollRunDAOImpl implements PayrollRunDAO {
+
+    // payslipCount comes from the run's checkpoint (0 when nothing was stored)
+    private static final String INSERT_PERIOD =
+        "INSERT INTO payroll_period (periodStart, periodEnd, closedBy, payslipCount) "
+      + "SELECT ?, ?, ?, COALESCE((SELECT payslipCount FROM payroll_run_checkpoint WHERE periodStart = ?), 0)";
+
+    private static final String UPSERT_CHECKPOINT =
+        "INSERT INTO payroll_run_checkpoint (periodStart, lastEmployeeID, payslipCount, chunks, startedBy) "
+      + "VALUES (?, ?, ?, 1, ?) "
+      + "ON DUPLICATE KEY UPDATE lastEmployeeID = VALUES(lastEmployeeID), "
+      + "payslipCount = payslipCount + VALUES(payslipCount), chunks = chunks + 1";
+
+    private static final String INSERT_PAYSLIP =
+        "INSERT INTO payslip (payslipNo, employeeID, employeeName, periodStartDate, periodEndDate, "
+      + "employeePositionDepartment, monthlyRate, dailyRate, daysWorked, overtimeHours, grossIncome, "
+      + "riceSubsidy, phoneAllowance, clothingAllowance, totalBenefits, sss, philhealth, pagibig, "
+      + "withholdingTax, totalDeductions, takeHomePay) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public PayrollRunDAOImpl() {}
+
+    @Override
+    public Date getLatestClosedPeriodEnd() throws SQLException {
+        String sql = "SELECT MAX(periodEnd) FROM payroll_period";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getDate(1) : null;
+        }
+    }
+
+    @Override
+    public boolean isPeriodClosed(Date periodStart) throws SQLException {
+        String sql = "SELECT 1 FROM payroll_period WHERE periodStart = ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, periodStart);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public AdvisoryLock tryLock(String name) throws SQLException {
+        Connection conn = DatabaseConnection.getInstance().getConnection();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            stmt.setString(1, name);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) == 1) {
+                    // the lock belongs to this session: keep the connection until release
+                    return () -> {
+                        try (Connection held = conn;
+                             PreparedStatement release = held.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                            release.setString(1, name);
+                            release.execute();
+                        }
+                    };
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+        conn.close();
+        return null;
+    }
+
+    @Override
+    public PayrollRunCheckpoint getCheckpoint(Date periodStart) throws SQLException {
+        String sql = "SELECT * FROM payroll_run_checkpoint WHERE periodStart = ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, periodStart);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PayrollRunCheckpoint(
+                            rs.getDate("periodStart"),
+                            rs.getInt("lastEmployeeID"),
+                            rs.getInt("payslipCount"),
+                            rs.getInt("chunks"),
+                            rs.getTimestamp("finishedAt") != null);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Integer> getEmployeeIDsAfter(int afterEmployeeID, int limit) throws SQLException {
+        String sql = "SELECT employeeID FROM employee WHERE employeeID > ? ORDER BY employeeID LIMIT ?";
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, afterEmployeeID);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void writeChunk(Date periodStart, List<Payslip> payslips, int lastEmployeeID, String startedBy) throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                JdbcBatch.update(conn, INSERT_PAYSLIP, payslips, PayrollRunDAOImpl::bindPayslip);
+                try (PreparedStatement stmt = conn.prepareStatement(UPSERT_CHECKPOINT)) {
+                    stmt.setDate(1, periodStart);
+                    stmt.setInt(2, lastEmployeeID);
+                    stmt.setInt(3, payslips.size());
+                    stmt.setString(4, startedBy);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void finishRun(Date periodStart, Date periodEnd, String closedBy) throws SQLException {
+        try (Connection conn = DatabaseConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_PERIOD)) {
+                    stmt.setDate(1, periodStart);
+                    stmt.setDate(2, periodEnd);
+                    stmt.setString(3, closedBy);
+                    stmt.setDate(4, periodStart);
+                    stmt.executeUpdate();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE payroll_run_checkpoint SET finishedAt = CURRENT_TIMESTAMP WHERE periodStart = ?")) {
+                    stmt.setDate(1, periodStart);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Payslip getStoredPayslip(String payslipNo) throws SQLException {
+        String sql = "SELECT * FROM payslip WHERE payslipNo = ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, payslipNo);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToPayslip(rs);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Payslip> getStoredPayslipsByEmployeeID(int employeeID, Date through) throws SQLException {
+        String sql = "SELECT * FROM payslip WHERE employeeID = ? AND periodEndDate <= ? ORDER BY periodEndDate DESC";
+        List<Payslip> payslips = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, employeeID);
+            stmt.setDate(2, through);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payslips.add(mapResultSetToPayslip(rs));
+                }
+            }
+        }
+        return payslips;
+    }
+
+    @Override
+    public List<Payslip> getStoredPayslipsByPeriodEnd(Date from, Date to) throws SQLException {
+        String sql = "SELECT * FROM payslip WHERE periodEndDate >= ? AND periodEndDate < ? "
+                   + "ORDER BY periodEndDate DESC, employeeID";
+        List<Payslip> payslips = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, from);
+            stmt.setDate(2, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payslips.add(mapResultSetToPayslip(rs));
+                }
+            }
+        }
+        return payslips;
+    }
+
+    static void bindPayslip(PreparedStatement ps, Payslip p) throws SQLException {
+        ps.setString(1,  p.getPayslipNo());
+        ps.setInt   (2,  p.getEmployeeID());
+        ps.setString(3,  p.getEmployeeName());
+        ps.setDate  (4,  p.getPeriodStartDate());
+        ps.setDate  (5,  p.getPeriodEndDate());
+        ps.setString(6,  p.getEmployeePositionDepartment());
+        ps.setDouble(7,  p.getMonthlyRate());
+        ps.setDouble(8,  p.getDailyRate());
+        ps.setDouble(9,  p.getDaysWorked());
+        ps.setDouble(10, p.getOvertimeHours());
+        ps.setDouble(11, p.getGrossIncome());
+        ps.setDouble(12, p.getRiceSubsidy());
+        ps.setDouble(13, p.getPhoneAllowance());
+        ps.setDouble(14, p.getClothingAllowance());
+        ps.setDouble(15, p.getTotalBenefits());
+        ps.setDouble(16, p.getSss());
+        ps.setDouble(17, p.getPhilhealth());
+        ps.setDouble(18, p.getPagibig());
+        ps.setDouble(19, p.getWithholdingTax());
+        ps.setDouble(20, p.getTotalDeductions());
+        ps.setDouble(21, p.getTakeHomePay());
+    }
+
+    private Payslip mapResultSetToPayslip(ResultSet rs) throws SQLException {
+        Payslip p = new Payslip();
+        p.setPayslipNo(rs.getString("payslipNo"));
+        p.setEmployeeID(rs.getInt("employeeID"));
+        p.setEmployeeName(rs.getString("employeeName"));
+        p.setPeriodStartDate(rs.getDate("periodStartDate"));
+        p.setPeriodEndDate(rs.getDate("periodEndDate"));
+        p.setEmployeePositionDepartment(rs.getString("employeePositionDepartment"));
+        p.setMonthlyRate(rs.getDouble("monthlyRate"));
+        p.setDailyRate(rs.getDouble("dailyRate"));
+        p.setDaysWorked(rs.getDouble("daysWorked"));
+        p.setOvertimeHours(rs.getDouble("overtimeHours"));
+        p.setGrossIncome(rs.getDouble("grossIncome"));
+        p.setRiceSubsidy(rs.getDouble("riceSubsidy"));
+        p.setPhoneAllowance(rs.getDouble("phoneAllowance"));
+        p.setClothingAllowance(rs.getDouble("clothingAllowance"));
+        p.setTotalBenefits(rs.getDouble("totalBenefits"));
+        p.setSss(rs.getDouble("sss"));
+        p.setPhilhealth(rs.getDouble("philhealth"));
+        p.setPagibig(rs.getDouble("pagibig"));
+        p.setWithholdingTax(rs.getDouble("withholdingTax"));
+        p.setTotalDeductions(rs.getDouble("totalDeductions"));
+        // the view's duplicate columns (used by the Jasper report)
+        p.setGrossIncomeDup(p.getGrossIncome());
+        p.setBenefits(p.getTotalBenefits());
+        p.setDeductions(p.getTotalDeductions());
+        p.setTakeHomePay(rs.getDouble("takeHomePay"));
+        return p;
+    }
+}
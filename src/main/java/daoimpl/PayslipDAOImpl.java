@@ -3,13 +3,21 @@ package daoimpl;
 import dao.PayslipDAO;
 import db.DatabaseConnection;
 import pojo.Payslip;
+import pojo.PayrollSummary;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class PayslipDAOImpl implements PayslipDAO {
 
+    /** Max values per IN (...) list; larger inputs are split into several queries. */
+    private static final int IN_CHUNK_SIZE = 500;
+
     public PayslipDAOImpl() {}
 
     @Override
@@ -43,6 +51,24 @@ public class PayslipDAOImpl implements PayslipDAO {
         return payslips;
     }
 
+    @Override
+    public List<Payslip> getPayslipsByEmployeeID(int employeeID, Date from) throws SQLException {
+        String sql = "SELECT * FROM v_motorph_payslip WHERE EMPLOYEE_ID = ? AND PERIOD_END_DATE >= ? "
+                   + "ORDER BY PERIOD_END_DATE DESC";
+        List<Payslip> payslips = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, employeeID);
+            stmt.setDate(2, from);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payslips.add(mapResultSetToPayslip(rs));
+                }
+            }
+        }
+        return payslips;
+    }
+
     @Override
     public List<Payslip> getAllPayslips() throws SQLException {
         String sql = "SELECT * FROM v_motorph_payslip ORDER BY PERIOD_END_DATE DESC";
@@ -57,6 +83,90 @@ public class PayslipDAOImpl implements PayslipDAO {
         return payslips;
     }
 
+    @Override
+    public List<Payslip> getPayslipsByPeriodEnd(Date from, Date to) throws SQLException {
+        String sql = "SELECT * FROM v_motorph_payslip WHERE PERIOD_END_DATE >= ? AND PERIOD_END_DATE < ? "
+                   + "ORDER BY PERIOD_END_DATE DESC";
+        List<Payslip> payslips = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, from);
+            stmt.setDate(2, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    payslips.add(mapResultSetToPayslip(rs));
+                }
+            }
+        }
+        return payslips;
+    }
+
+    @Override
+    public List<Payslip> getPayslipsByEmployeeIDs(Collection<Integer> employeeIDs, Date from, Date to) throws SQLException {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(employeeIDs));
+        List<Payslip> payslips = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += IN_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(ids.size(), start + IN_CHUNK_SIZE));
+            String sql = "SELECT * FROM v_motorph_payslip WHERE EMPLOYEE_ID IN ("
+                       + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                       + ") AND PERIOD_END_DATE >= ? AND PERIOD_END_DATE < ?";
+            try (Connection conn = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int i = 1;
+                for (Integer id : chunk) stmt.setInt(i++, id);
+                stmt.setDate(i++, from);
+                stmt.setDate(i, to);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        payslips.add(mapResultSetToPayslip(rs));
+                    }
+                }
+            }
+        }
+        return payslips;
+    }
+
+    @Override
+    public PayrollSummary getPayrollSummary(Date from, Date to) throws SQLException {
+        String sql = "SELECT COUNT(*) AS CNT, "
+                   + "COALESCE(SUM(GROSS_INCOME), 0) AS GROSS, "
+                   + "COALESCE(SUM(TOTAL_BENEFITS), 0) AS CONTRIB, "
+                   + "COALESCE(SUM(TOTAL_DEDUCTIONS), 0) AS DEDUCT, "
+                   + "COALESCE(SUM(TAKE_HOME_PAY), 0) AS NET "
+                   + "FROM v_motorph_payslip WHERE PERIOD_END_DATE >= ? AND PERIOD_END_DATE < ?";
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setDate(1, from);
+            stmt.setDate(2, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new PayrollSummary(
+                            rs.getInt("CNT"),
+                            rs.getDouble("GROSS"),
+                            rs.getDouble("CONTRIB"),
+                            rs.getDouble("DEDUCT"),
+                            rs.getDouble("NET"));
+                }
+            }
+        }
+        return new PayrollSummary();
+    }
+
+    @Override
+    public Stream<Payslip> streamAllPayslips() throws SQLException {
+        return JdbcStreams.stream(
+                "SELECT * FROM v_motorph_payslip ORDER BY PERIOD_END_DATE DESC",
+                this::mapResultSetToPayslip);
+    }
+
+    @Override
+    public Stream<Payslip> streamPayslipsFrom(Date from) throws SQLException {
+        return JdbcStreams.stream(
+                "SELECT * FROM v_motorph_payslip WHERE PERIOD_END_DATE >= ? ORDER BY PERIOD_END_DATE DESC",
+                ps -> ps.setDate(1, from),
+                this::mapResultSetToPayslip);
+    }
+
     private Payslip mapResultSetToPayslip(ResultSet rs) throws SQLException {
         Payslip p = new Payslip();
         p.setPayslipNo(rs.getString("PAYSILP_NO"));
@@ -0,0 +1,208 @@
+package daoimpl;
+
+import dao.Page;
+import util.CacheStats;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared store behind {@link CachingDAO}: DAO read results keyed by method + arguments,
+ * each tagged with the tables it was read from.
+ *
+ * - {@link #evict(String...)} drops every entry carrying one of the given table tags;
+ *   decorated DAOs call it after each write, and code that writes with raw SQL calls it
+ *   directly. Each eviction also bumps a per-table generation; a read captures
+ *   {@link #generation(String[])} before going to the database and {@code put} drops its
+ *   result if any of its tables moved on meanwhile, so a read that overlapped a write
+ *   cannot re-cache the pre-write rows.
+ * - The store is LRU with an approximate memory bound (-Ddao.cache.maxBytes /
+ *   DAO_CACHE_MAX_BYTES, default 16 MB) and a TTL (-Ddao.cache.ttlMs / DAO_CACHE_TTL_MS,
+ *   default 60 s) so writes made by other clients of the same database show up eventually.
+ */
+public final class QueryCache {
+
+    private static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+    private static final long DEFAULT_TTL_MS    = 60_000L;
+
+    // Rough per-object sizes used by the weigher; only relative accuracy matters
+    private static final int OBJECT_BYTES  = 256;   // a mapped row POJO
+    private static final int SCALAR_BYTES = 24;
+    private static final int CONTAINER_BYTES = 48;
+
+    private static final class Entry {
+        final Object value;
+        final String[] tags;
+        final long bytes;
+        final long expiresAt;
+
+        Entry(Object value, String[] tags, long bytes, long expiresAt) {
+            this.value = value;
+            this.tags = tags;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Holder {
+        static final QueryCache INSTANCE = new QueryCache(
+                configured("dao.cache.maxBytes", "DAO_CACHE_MAX_BYTES", DEFAULT_MAX_BYTES),
+                configured("dao.cache.ttlMs", "DAO_CACHE_TTL_MS", DEFAULT_TTL_MS));
+    }
+
+    public static QueryCache shared() {
+        return Holder.INSTANCE;
+    }
+
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final LinkedHashMap<List<Object>, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<List<Object>>> keysByTag = new HashMap<>();
+    private final Map<String, Long> generationByTag = new HashMap<>();
+    private long clears = 0;
+    private long totalBytes = 0;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QueryCache(long maxBytes, long ttlMillis) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Cached value, or {@code absent} when there is none (null results are cached too). */
+    synchronized Object get(List<Object> key, Object absent) {
+        Entry e = entries.get(key);
+        if (e != null && e.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return e.value;
+        }
+        if (e != null) remove(key);
+        misses.increment();
+        return absent;
+    }
+
+    /**
+     * Stamp that changes whenever any of these tables is evicted (or the cache cleared).
+     * Generations only grow, so their sum moves exactly when one of them does.
+     */
+    synchronized long generation(String[] tags) {
+        long g = clears;
+        for (String tag : tags) g += generationByTag.getOrDefault(tag, 0L);
+        return g;
+    }
+
+    /** Caches {@code value} unless one of its tables was evicted after {@code generation} was taken. */
+    synchronized void put(List<Object> key, Object value, String[] tags, long generation) {
+        if (generation(tags) != generation) return; // a write overlapped the read; result may be stale
+        put(key, value, tags);
+    }
+
+    private void put(List<Object> key, Object value, String[] tags) {
+        long bytes = estimateBytes(value);
+        if (bytes > maxBytes) return; // would evict everything else; not worth caching
+
+        Entry old = entries.remove(key);
+        if (old != null) unlink(key, old);
+
+        entries.put(key, new Entry(value, tags, bytes, System.currentTimeMillis() + ttlMillis));
+        totalBytes += bytes;
+        for (String tag : tags) keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+
+        Iterator<Map.Entry<List<Object>, Entry>> it = entries.entrySet().iterator(); // LRU first
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<List<Object>, Entry> lru = it.next();
+            it.remove();
+            unlink(lru.getKey(), lru.getValue());
+            evictions.increment();
+        }
+    }
+
+    /** Drops every cached result that was read from any of these tables. */
+    public synchronized void evict(String... tables) {
+        evict(Arrays.asList(tables));
+    }
+
+    public synchronized void evict(Collection<String> tables) {
+        for (String tag : tables) {
+            generationByTag.merge(tag, 1L, Long::sum);
+            Set<List<Object>> keys = keysByTag.remove(tag);
+            if (keys == null) continue;
+            for (List<Object> key : keys) {
+                if (entries.containsKey(key)) remove(key);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByTag.clear();
+        totalBytes = 0;
+        clears++;
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return totalBytes;
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats("dao-query-cache", hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    // ---- internals ----
+
+    private void remove(List<Object> key) {
+        Entry e = entries.remove(key);
+        if (e != null) unlink(key, e);
+    }
+
+    private void unlink(List<Object> key, Entry e) {
+        totalBytes -= e.bytes;
+        for (String tag : e.tags) {
+            Set<List<Object>> keys = keysByTag.get(tag);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) keysByTag.remove(tag);
+            }
+        }
+    }
+
+    static long estimateBytes(Object v) {
+        if (v == null) return 16;
+        if (v instanceof CharSequence) return 40 + 2L * ((CharSequence) v).length();
+        if (v instanceof Number || v instanceof Boolean || v instanceof java.util.Date) return SCALAR_BYTES;
+        if (v instanceof Page) return CONTAINER_BYTES + estimateBytes(((Page<?>) v).getItems());
+        if (v instanceof Collection) {
+            long sum = CONTAINER_BYTES;
+            for (Object o : (Collection<?>) v) sum += 8 + estimateBytes(o);
+            return sum;
+        }
+        if (v instanceof Map) {
+            long sum = CONTAINER_BYTES;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) v).entrySet()) {
+                sum += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+            }
+            return sum;
+        }
+        return OBJECT_BYTES;
+    }
+
+    private static long configured(String prop, String env, long def) {
+        String v = System.getProperty(prop);
+        if (v == null) v = System.getenv(env);
+        try {
+            return v != null ? Long.parseLong(v.trim()) : def;
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package daoimpl;
+
+import db.DatabaseConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the small lookup tables (status, position, department, approval status,
+ * leave type, user role).
+ *
+ * Each table is loaded once into an immutable ID-to-name map (positions also keep an immutable
+ * position-to-department map, loaded by the same query) and served from memory until
+ * its TTL runs out (-Drefdata.ttlMs / REFDATA_TTL_MS, default 10 minutes) or
+ * {@link #refresh()} is called. If a reload fails, the previous copy keeps being served.
+ */
+public final class ReferenceDataCache {
+
+    private static final Logger LOG = LogManager.getLogger(ReferenceDataCache.class);
+
+    private static final long DEFAULT_TTL_MS = 10 * 60_000L;
+
+    /** The cached tables; each query returns (id, name) ordered by id. */
+    public enum Table {
+        STATUS("SELECT statusID, statusType FROM status ORDER BY statusID"),
+        /** Also returns departmentID as a third column. */
+        POSITION("SELECT positionID, position, departmentID FROM position ORDER BY positionID"),
+        DEPARTMENT("SELECT departmentID, departmentName FROM department ORDER BY departmentID"),
+        APPROVAL_STATUS("SELECT approvalStatusID, approvalStatus FROM approvalstatus ORDER BY approvalStatusID"),
+        LEAVE_TYPE("SELECT leaveTypeID, leaveType FROM leavetype ORDER BY leaveTypeID"),
+        ROLE("SELECT roleID, role FROM userrole ORDER BY roleID");
+
+        final String sql;
+
+        Table(String sql) { this.sql = sql; }
+    }
+
+    /**
+     * Reads one table as an ordered id -> name map. For {@link Table#POSITION} it also puts
+     * positionID -> departmentID into {@code departmentByPosition}.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        Map<Integer, String> load(Table table, Map<Integer, Integer> departmentByPosition) throws SQLException;
+    }
+
+    /** Immutable snapshot of one lookup table, in ID order. */
+    public static final class Lookup {
+        private final Map<Integer, String> byID;
+        private final List<Integer> ids;
+        private final List<String> names;
+
+        Lookup(Map<Integer, String> rows) {
+            this.byID  = Collections.unmodifiableMap(new LinkedHashMap<>(rows));
+            this.ids   = List.copyOf(byID.keySet());
+            this.names = Collections.unmodifiableList(new ArrayList<>(byID.values()));
+        }
+
+        public List<Integer> ids()          { return ids; }
+        public List<String> names()         { return names; }
+        public Map<Integer, String> asMap() { return byID; }
+
+        /** Name for the ID, or "" when unknown. */
+        public String name(int id) {
+            String n = byID.get(id);
+            return n != null ? n : "";
+        }
+    }
+
+    private static final class Entry {
+        final Lookup lookup;
+        final Map<Integer, Integer> departmentByPosition;
+        final long loadedAt;
+
+        Entry(Lookup lookup, Map<Integer, Integer> departmentByPosition, long loadedAt) {
+            this.lookup = lookup;
+            this.departmentByPosition = Map.copyOf(departmentByPosition);
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Holder {
+        static final ReferenceDataCache INSTANCE = new ReferenceDataCache(ReferenceDataCache::loadFromDatabase, configuredTtl());
+    }
+
+    public static ReferenceDataCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final Loader loader;
+    private final long ttlMillis;
+    private final Map<Table, Entry> entries = Collections.synchronizedMap(new EnumMap<>(Table.class));
+
+    public ReferenceDataCache(Loader loader, long ttlMillis) {
+        this.loader = loader;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Lookup get(Table table) throws SQLException {
+        return entry(table).lookup;
+    }
+
+    public Lookup statuses()         throws SQLException { return get(Table.STATUS); }
+    public Lookup positions()        throws SQLException { return get(Table.POSITION); }
+    public Lookup departments()      throws SQLException { return get(Table.DEPARTMENT); }
+    public Lookup approvalStatuses() throws SQLException { return get(Table.APPROVAL_STATUS); }
+    public Lookup leaveTypes()       throws SQLException { return get(Table.LEAVE_TYPE); }
+    public Lookup roles()            throws SQLException { return get(Table.ROLE); }
+
+    /** Department of a position, or -1 when the position is unknown. */
+    public int departmentIDForPosition(int positionID) throws SQLException {
+        return entry(Table.POSITION).departmentByPosition.getOrDefault(positionID, -1);
+    }
+
+    /** Drops every table; each is reloaded on its next use. */
+    public void refresh() {
+        entries.clear();
+    }
+
+    /** Drops one table; it is reloaded on its next use. */
+    public void refresh(Table table) {
+        entries.remove(table);
+    }
+
+    // ---- internals ----
+
+    private Entry entry(Table table) throws SQLException {
+        Entry e = entries.get(table);
+        if (e != null && !isExpired(e)) return e;
+        return reload(table);
+    }
+
+    private boolean isExpired(Entry e) {
+        return System.currentTimeMillis() - e.loadedAt > ttlMillis;
+    }
+
+    private synchronized Entry reload(Table table) throws SQLException {
+        Entry e = entries.get(table);
+        if (e != null && !isExpired(e)) return e; // another thread just loaded it
+        try {
+            Map<Integer, Integer> departmentByPosition = new HashMap<>();
+            Lookup fresh = new Lookup(loader.load(table, departmentByPosition));
+            Entry loaded = new Entry(fresh, departmentByPosition, System.currentTimeMillis());
+            entries.put(table, loaded);
+            return loaded;
+        } catch (SQLException | RuntimeException ex) {
+            if (e == null) throw ex;
+            LOG.warn("Could not reload {}; serving cached copy: {}", table, ex.toString());
+            return e;
+        }
+    }
+
+    private static Map<Integer, String> loadFromDatabase(Table table, Map<Integer, Integer> departmentByPosition)
+            throws SQLException {
+        Map<Integer, String> rows = new LinkedHashMap<>();
+        try (Connection c = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement p = c.prepareStatement(table.sql);
+             ResultSet r = p.executeQuery()) {
+            while (r.next()) {
+                rows.put(r.getInt(1), r.getString(2));
+                if (table == Table.POSITION) departmentByPosition.put(r.getInt(1), r.getInt(3));
+            }
+        }
+        return rows;
+    }
+
+    private static long configuredTtl() {
+        String v = System.getProperty("refdata.ttlMs");
+        if (v == null) v = System.getenv("REFDATA_TTL_MS");
+        try {
+            return v != null ? Long.parseLong(v.trim()) : DEFAULT_TTL_MS;
+        } catch (NumberFormatException e) {
+            return DEFAULT_TTL_MS;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small bounded JDBC connection pool.
+ *
+ * - At most {@code maxSize} physical connections exist at once; callers wait up to
+ *   {@code acquireTimeoutMillis} for one to free up before getting a {@link SQLTimeoutException}.
+ * - Idle connections are reused LIFO, validated on borrow, and evicted after
+ *   {@code idleTimeoutMillis} (never below {@code minSize}).
+ * - {@link Connection#close()} on a borrowed connection hands it back instead of closing it,
+ *   so existing try-with-resources call sites work unchanged.
+ * - With {@code statementCacheSize > 0} each physical connection keeps an LRU of prepared
+ *   statements keyed by SQL text; {@link #getStatementStats()} reports hits/misses per SQL.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(ConnectionPool.class);
+
+    /** Connections used within this window are trusted without a validation ping. */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int  VALIDATION_TIMEOUT_SECONDS = 3;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Opens a new physical connection. */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int  minSize;
+    private final int  maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final int  statementCacheSize;
+    private final Map<String, StatementStats> statementStats = StatementCache.newStatsMap();
+
+    private final LinkedBlockingDeque<Entry> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger physicalCount = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize,
+                          long idleTimeoutMillis, long acquireTimeoutMillis) {
+        this(factory, minSize, maxSize, idleTimeoutMillis, acquireTimeoutMillis, 0);
+    }
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize,
+                          long idleTimeoutMillis, long acquireTimeoutMillis, int statementCacheSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be >= 1");
+        if (minSize < 0 || minSize > maxSize) throw new IllegalArgumentException("minSize must be in [0, maxSize]");
+        this.factory              = factory;
+        this.minSize              = minSize;
+        this.maxSize              = maxSize;
+        this.idleTimeoutMillis    = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.statementCacheSize   = Math.max(0, statementCacheSize);
+        this.permits              = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a pooled connection (max " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            Entry entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (isUsable(entry)) return wrap(entry);
+                discard(entry);
+            }
+            return wrap(openEntry());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pool uses fixed credentials");
+    }
+
+    /** Connections currently handed out. */
+    public int getActiveCount() { return maxSize - permits.availablePermits(); }
+
+    /** Connections open and waiting in the pool. */
+    public int getIdleCount()   { return idle.size(); }
+
+    /** All open physical connections (active + idle). */
+    public int getTotalCount()  { return physicalCount.get(); }
+
+    public int getMaxSize()     { return maxSize; }
+
+    /** Prepared-statement cache counters per SQL text, busiest first. Empty when caching is off. */
+    public List<StatementStats> getStatementStats() {
+        return StatementCache.snapshot(statementStats);
+    }
+
+    /** Closes idle connections and refuses new borrows; borrowed ones are closed as they come back. */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        Entry e;
+        while ((e = idle.pollFirst()) != null) discard(e);
+    }
+
+    // ---- internals ----
+
+    private Entry openEntry() throws SQLException {
+        Connection physical = factory.open();
+        physicalCount.incrementAndGet();
+        StatementCache cache = statementCacheSize > 0
+                ? new StatementCache(physical, statementCacheSize, statementStats)
+                : null;
+        return new Entry(physical, cache);
+    }
+
+    private boolean isUsable(Entry e) {
+        try {
+            if (e.physical.isClosed()) return false;
+            if (System.currentTimeMillis() - e.lastUsed < VALIDATION_BYPASS_MILLIS) return true;
+            return e.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private void discard(Entry e) {
+        physicalCount.decrementAndGet();
+        try {
+            if (e.statements != null) e.statements.closeAll();
+            e.physical.close();
+        } catch (SQLException ex) {
+            LOG.debug("Error closing pooled connection: {}", ex.toString());
+        }
+    }
+
+    /** Called exactly once per borrow, either from close() or from the leak cleaner. */
+    private void giveBack(Entry e, boolean reusable) {
+        try {
+            if (e.statements != null) e.statements.releaseAll();
+            if (closed || !reusable || !reset(e.physical)) {
+                discard(e);
+            } else {
+                e.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(e);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Undo per-borrow state so the next borrower gets a clean autocommit connection. */
+    private boolean reset(Connection c) {
+        try {
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            if (c.isReadOnly()) c.setReadOnly(false);
+            c.clearWarnings();
+            return true;
+        } catch (SQLException ex) {
+            LOG.debug("Dropping pooled connection that failed reset: {}", ex.toString());
+            return false;
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<Entry> it = idle.descendingIterator(); // oldest first
+            while (it.hasNext() && idle.size() > minSize) {
+                Entry e = it.next();
+                if (now - e.lastUsed > idleTimeoutMillis && idle.remove(e)) {
+                    discard(e);
+                }
+            }
+            // Pre-open under a permit like any borrower, so topping up never pushes the
+            // physical count past maxSize while callers are opening connections on demand.
+            while (!closed && physicalCount.get() < minSize && idle.size() < minSize
+                    && permits.tryAcquire()) {
+                try {
+                    idle.offerLast(openEntry());
+                } finally {
+                    permits.release();
+                }
+            }
+        } catch (SQLException ex) {
+            LOG.warn("Could not pre-open pooled connection: {}", ex.toString());
+        } catch (RuntimeException ex) {
+            LOG.warn("Connection pool housekeeping failed", ex);
+        }
+    }
+
+    private Connection wrap(Entry e) {
+        Lease lease = new Lease(this, e);
+        Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handler(lease));
+        CLEANER.register(proxy, lease);
+        return proxy;
+    }
+
+    private static final class Entry {
+        final Connection physical;
+        final StatementCache statements; // null when caching is off
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Entry(Connection physical, StatementCache statements) {
+            this.physical   = physical;
+            this.statements = statements;
+        }
+    }
+
+    /**
+     * One borrow of an entry. Doubles as the Cleaner action, so a connection that is
+     * dropped without close() is reclaimed (closed physically) when it is garbage collected.
+     */
+    private static final class Lease implements Runnable {
+        final ConnectionPool pool;
+        final Entry entry;
+        final AtomicBoolean returned = new AtomicBoolean(false);
+
+        Lease(ConnectionPool pool, Entry entry) {
+            this.pool  = pool;
+            this.entry = entry;
+        }
+
+        void release() {
+            if (returned.compareAndSet(false, true)) pool.giveBack(entry, true);
+        }
+
+        @Override
+        public void run() {
+            if (returned.compareAndSet(false, true)) {
+                LOG.warn("Pooled connection was never closed; reclaiming it");
+                pool.giveBack(entry, false);
+            }
+        }
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final Lease lease;
+
+        Handler(Lease lease) { this.lease = lease; }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "close":
+                    lease.release();
+                    return null;
+                case "isClosed":
+                    return lease.returned.get() || lease.entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + lease.entry.physical + "]";
+                default:
+                    break;
+            }
+            if (lease.returned.get()) throw new SQLException("Connection is closed");
+            if (lease.entry.statements != null && "prepareStatement".equals(m.getName())
+                    && args.length == 1) {
+                return lease.entry.statements.prepare((String) args[0], (Connection) proxy);
+            }
+            try {
+                return m.invoke(lease.entry.physical, args);
+            } catch (InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+    }
+
+    // ---- DataSource boilerplate ----
+
+    @Override public PrintWriter getLogWriter() { return null; }
+    @Override public void setLogWriter(PrintWriter out) { }
+    @Override public void setLoginTimeout(int seconds) { }
+    @Override public int getLoginTimeout() { return 0; }
+    @Override public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+    @Override public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+    @Override public boolean isWrapperFor(Class<?> iface) { return iface.isInstance(this); }
+}
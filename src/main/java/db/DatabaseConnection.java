@@ -11,6 +11,15 @@ import java.util.Objects;
  *  -Ddb.ssl=true (or env DB_SSL=true)
  * and optionally override URL/USER/PASS via env or system props:
  *  DB_URL / DB_USER / DB_PASS  (or -Ddb.url / -Ddb.user / -Ddb.pass)
+ *
+ * Connections come from a shared {@link ConnectionPool}; closing one returns it to the pool.
+ * Pool sizing: -Ddb.pool.min / -Ddb.pool.max / -Ddb.pool.idleTimeoutMs / -Ddb.pool.acquireTimeoutMs
+ * (or DB_POOL_MIN / DB_POOL_MAX / DB_POOL_IDLE_TIMEOUT_MS / DB_POOL_ACQUIRE_TIMEOUT_MS).
+ * Each pooled connection caches up to -Ddb.pool.statementCacheSize (DB_POOL_STMT_CACHE_SIZE)
+ * prepared statements; 0 turns the cache off. -Ddb.serverPrepare=true (DB_SERVER_PREPARE)
+ * switches Connector/J to server-side prepared statements. rewriteBatchedStatements is on by
+ * default so JDBC batches go out as multi-row statements, and useLocalSessionState so the
+ * pool's per-return reset (autocommit / read-only checks) needs no server round trip.
  */
 public class DatabaseConnection {
 
@@ -19,7 +28,16 @@ public class DatabaseConnection {
     private static final String DEV_USER     = "root";
     private static final String DEV_PASSWORD = "";
 
+    // Pool defaults, overridable via -Ddb.pool.* or DB_POOL_* env
+    private static final int  DEFAULT_POOL_MIN           = 1;
+    private static final int  DEFAULT_POOL_MAX           = 10;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS    = 5 * 60_000L;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 30_000L;
+    private static final int  DEFAULT_STMT_CACHE_SIZE    = 64;
+
     private static DatabaseConnection instance;
+    private volatile ConnectionPool pool;
+    private boolean shutdownHookRegistered;
 
     private DatabaseConnection() { }
 
@@ -30,50 +48,101 @@ public class DatabaseConnection {
 
     public Connection getConnection() {
         try {
-            String url  = firstNonNull(
-                    sysProp("db.url"),
-                    env("DB_URL"),
-                    DEV_URL
-            );
+            return pool().getConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error establishing database connection", e);
+        }
+    }
 
-            String user = firstNonNull(
-                    sysProp("db.user"),
-                    env("DB_USER"),
-                    DEV_USER
-            );
+    /** The shared pool behind {@link #getConnection()}; created on first use. */
+    public ConnectionPool pool() {
+        ConnectionPool p = pool;
+        return p != null ? p : createPool();
+    }
 
-            String pass = firstNonNull(
-                    sysProp("db.pass"),
-                    env("DB_PASS"),
-                    DEV_PASSWORD
+    private synchronized ConnectionPool createPool() {
+        if (pool == null) {
+            String url  = resolveUrl();
+            String user = firstNonNull(sysProp("db.user"), env("DB_USER"), DEV_USER);
+            String pass = firstNonNull(sysProp("db.pass"), env("DB_PASS"), DEV_PASSWORD);
+
+            pool = new ConnectionPool(
+                    () -> DriverManager.getConnection(url, user, pass),
+                    parseInt(firstNonNull(sysProp("db.pool.min"), env("DB_POOL_MIN"), null), DEFAULT_POOL_MIN),
+                    parseInt(firstNonNull(sysProp("db.pool.max"), env("DB_POOL_MAX"), null), DEFAULT_POOL_MAX),
+                    parseLong(firstNonNull(sysProp("db.pool.idleTimeoutMs"), env("DB_POOL_IDLE_TIMEOUT_MS"), null), DEFAULT_IDLE_TIMEOUT_MS),
+                    parseLong(firstNonNull(sysProp("db.pool.acquireTimeoutMs"), env("DB_POOL_ACQUIRE_TIMEOUT_MS"), null), DEFAULT_ACQUIRE_TIMEOUT_MS),
+                    parseInt(firstNonNull(sysProp("db.pool.statementCacheSize"), env("DB_POOL_STMT_CACHE_SIZE"), null), DEFAULT_STMT_CACHE_SIZE)
             );
+            if (!shutdownHookRegistered) {
+                // One hook for the process; it closes whichever pool is current at exit
+                Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "db-pool-shutdown"));
+                shutdownHookRegistered = true;
+            }
+        }
+        return pool;
+    }
 
-            boolean useSsl = parseBoolean(firstNonNull(
-                    sysProp("db.ssl"),
-                    env("DB_SSL"),
-                    "false"
-            ));
+    /** Closes every pooled connection; the next getConnection() starts a fresh pool. */
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
 
-            // If SSL requested, append safe flags (works with MySQL 8+/Connector/J 9+)
-            if (useSsl && !url.contains("useSSL=")) {
-                String sep = url.contains("?") ? "&" : "?";
-                url = url + sep + "useSSL=true&requireSSL=true&verifyServerCertificate=true";
-            }
+    private static String resolveUrl() {
+        String url  = firstNonNull(
+                sysProp("db.url"),
+                env("DB_URL"),
+                DEV_URL
+        );
+
+        boolean useSsl = parseBoolean(firstNonNull(
+                sysProp("db.ssl"),
+                env("DB_SSL"),
+                "false"
+        ));
+
+        // If SSL requested, append safe flags (works with MySQL 8+/Connector/J 9+)
+        if (useSsl && !url.contains("useSSL=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "useSSL=true&requireSSL=true&verifyServerCertificate=true";
+        }
 
-            // Add common connection options to reduce warnings/timezone issues
-            if (!url.contains("serverTimezone=")) {
-                String sep = url.contains("?") ? "&" : "?";
-                url = url + sep + "serverTimezone=UTC";
-            }
-            if (!url.contains("characterEncoding=")) {
-                String sep = url.contains("?") ? "&" : "?";
-                url = url + sep + "characterEncoding=UTF-8";
-            }
+        // Add common connection options to reduce warnings/timezone issues
+        if (!url.contains("serverTimezone=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "serverTimezone=UTC";
+        }
+        if (!url.contains("characterEncoding=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "characterEncoding=UTF-8";
+        }
 
-            return DriverManager.getConnection(url, user, pass);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error establishing database connection", e);
+        // Send JDBC batches as multi-row INSERTs / multi-statement packets
+        if (!url.contains("rewriteBatchedStatements=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "rewriteBatchedStatements=true";
+        }
+
+        // Answer getAutoCommit/isReadOnly from driver-side state; the pool checks both on every return
+        if (!url.contains("useLocalSessionState=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "useLocalSessionState=true";
+        }
+
+        // Optional server-side prepare: cached statements then skip parsing/planning on the server too
+        boolean serverPrepare = parseBoolean(firstNonNull(
+                sysProp("db.serverPrepare"),
+                env("DB_SERVER_PREPARE"),
+                "false"
+        ));
+        if (serverPrepare && !url.contains("useServerPrepStmts=")) {
+            String sep = url.contains("?") ? "&" : "?";
+            url = url + sep + "useServerPrepStmts=true";
         }
+        return url;
     }
 
     // helpers
@@ -84,6 +153,16 @@ public class DatabaseConnection {
         return a != null ? a : (b != null ? b : c);
     }
 
+    private static int parseInt(String v, int def) {
+        try { return v != null ? Integer.parseInt(v.trim()) : def; }
+        catch (NumberFormatException e) { return def; }
+    }
+
+    private static long parseLong(String v, long def) {
+        try { return v != null ? Long.parseLong(v.trim()) : def; }
+        catch (NumberFormatException e) { return def; }
+    }
+
     private static boolean parseBoolean(String v) {
         return Objects.equals(v, "true") || Objects.equals(v, "TRUE") || Objects.equals(v, "1");
     }
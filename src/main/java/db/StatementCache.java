@@ -0,0 +1,214 @@
+package db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * A cached statement is handed out wrapped so that close() clears its parameters and
+ * puts it back instead of closing it. Fetch size, max rows, query timeout and the like
+ * are put back to the JDBC defaults if the borrower changed them, and a result set it
+ * left open is closed; a statement set to closeOnCompletion is not cached again. If the
+ * same SQL is already checked out on this connection (nested use), a plain uncached
+ * statement is prepared instead.
+ *
+ * Not thread-safe: a physical connection is only used by one borrower at a time.
+ */
+final class StatementCache {
+
+    /** Statement settings a borrower may change; reset to the JDBC defaults on give-back. */
+    private static final Set<String> TUNING = Set.of(
+            "setFetchSize", "setFetchDirection", "setMaxRows", "setLargeMaxRows",
+            "setMaxFieldSize", "setQueryTimeout");
+
+    private final class Holder {
+        final String sql;
+        final PreparedStatement physical;
+        Handle current;      // checked-out handle, or null when idle
+        boolean evicted;     // dropped from the LRU while checked out
+        boolean tuned;       // a per-statement setting was changed by the current borrower
+        boolean unreusable;  // a setting that cannot be undone (closeOnCompletion)
+
+        Holder(String sql, PreparedStatement physical) {
+            this.sql = sql;
+            this.physical = physical;
+        }
+    }
+
+    /** One checkout of a holder; its close() is what the caller sees. */
+    private final class Handle {
+        final Holder holder;
+        boolean closed;
+
+        Handle(Holder holder) { this.holder = holder; }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            giveBack(holder);
+        }
+    }
+
+    private final Connection physical;
+    private final int capacity;
+    private final Map<String, StatementStats> stats;
+    private final LinkedHashMap<String, Holder> lru;
+
+    StatementCache(Connection physical, int capacity, Map<String, StatementStats> stats) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.stats    = stats;
+        this.lru      = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a prepared statement for {@code sql}, reusing a cached one when possible.
+     * {@code owner} is the pooled connection proxy, reported by getConnection().
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        StatementStats st = stats.computeIfAbsent(sql, StatementStats::new);
+        Holder h = lru.get(sql);
+        if (h != null) {
+            if (h.current != null) {
+                // same SQL nested on this connection: don't share the cached one
+                st.recordMiss();
+                return physical.prepareStatement(sql);
+            }
+            st.recordHit();
+            return checkOut(h, owner);
+        }
+
+        st.recordMiss();
+        h = new Holder(sql, physical.prepareStatement(sql));
+        lru.put(sql, h);
+        evictOverflow();
+        return checkOut(h, owner);
+    }
+
+    /** Invalidates every outstanding handle, e.g. when the connection goes back to the pool. */
+    void releaseAll() {
+        for (Holder h : new ArrayList<>(lru.values())) {
+            if (h.current != null) h.current.close();
+        }
+    }
+
+    /** Physically closes every cached statement. */
+    void closeAll() {
+        for (Holder h : lru.values()) closeQuietly(h.physical);
+        lru.clear();
+    }
+
+    int size() { return lru.size(); }
+
+    // ---- internals ----
+
+    private PreparedStatement checkOut(Holder h, Connection owner) {
+        Handle handle = new Handle(h);
+        h.current = handle;
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, m, args) -> {
+                    switch (m.getName()) {
+                        case "close":
+                            handle.close();
+                            return null;
+                        case "isClosed":
+                            return handle.closed || h.physical.isClosed();
+                        case "getConnection":
+                            return owner;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Cached[" + h.sql + "]";
+                        default:
+                            break;
+                    }
+                    if (handle.closed) throw new SQLException("Statement is closed");
+                    if (TUNING.contains(m.getName())) h.tuned = true;
+                    if ("closeOnCompletion".equals(m.getName())) h.unreusable = true;
+                    try {
+                        return m.invoke(h.physical, args);
+                    } catch (InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    private void giveBack(Holder h) {
+        h.current = null;
+        if (h.evicted) {
+            closeQuietly(h.physical);
+            return;
+        }
+        if (h.unreusable) {
+            lru.remove(h.sql);
+            closeQuietly(h.physical);
+            return;
+        }
+        try {
+            ResultSet open = h.physical.getResultSet();
+            if (open != null) open.close();
+            h.physical.clearParameters();
+            h.physical.clearBatch();
+            h.physical.clearWarnings();
+            if (h.tuned) {
+                h.physical.setFetchSize(0);
+                h.physical.setFetchDirection(ResultSet.FETCH_FORWARD);
+                h.physical.setMaxRows(0);
+                h.physical.setMaxFieldSize(0);
+                h.physical.setQueryTimeout(0);
+                h.tuned = false;
+            }
+        } catch (SQLException e) {
+            lru.remove(h.sql);
+            closeQuietly(h.physical);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Holder> it = lru.values().iterator(); // least recently used first
+        while (lru.size() > capacity && it.hasNext()) {
+            Holder victim = it.next();
+            it.remove();
+            if (victim.current != null) {
+                victim.evicted = true; // closed when its borrower is done
+            } else {
+                closeQuietly(victim.physical);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+            // statement is being dropped anyway
+        }
+    }
+
+    /** Busiest statements first. */
+    static List<StatementStats> snapshot(Map<String, StatementStats> stats) {
+        List<StatementStats> out = new ArrayList<>(stats.values());
+        out.sort((a, b) -> Long.compare(b.getHits() + b.getMisses(), a.getHits() + a.getMisses()));
+        return out;
+    }
+
+    static Map<String, StatementStats> newStatsMap() {
+        return new ConcurrentHashMap<>();
+    }
+}
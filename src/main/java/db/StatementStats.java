@@ -0,0 +1,34 @@
+package db;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepared-statement cache hit/miss counters for one SQL text,
+ * summed across every pooled connection.
+ */
+public final class StatementStats {
+
+    private final String sql;
+    private final LongAdder hits   = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    StatementStats(String sql) { this.sql = sql; }
+
+    void recordHit()  { hits.increment(); }
+    void recordMiss() { misses.increment(); }
+
+    public String getSql()  { return sql; }
+    public long getHits()   { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    public double getHitRate() {
+        long h = getHits(), total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d rate=%.1f%% sql=%s",
+                getHits(), getMisses(), getHitRate() * 100, sql);
+    }
+}
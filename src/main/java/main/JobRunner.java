@@ -0,0 +1,102 @@
+package main;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import payroll.PayrollEngine;
+import payroll.VerificationReport;
+import service.AttendanceService;
+import service.PayslipService;
+import service.ServiceRegistry;
+import util.JobScheduler;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+/**
+ * Daily maintenance jobs, runnable headless:
+ *
+ *   java -cp ... main.JobRunner                  keeps running; jobs fire at their time
+ *   java -cp ... main.JobRunner --once [date]    auto clock-out for date (default yesterday), then exit
+ *   java -cp ... main.JobRunner --close-period YYYY-MM
+ *                                                store the month's payslips and close it, then exit;
+ *                                                rerun after a failure to resume from the last chunk
+ *   java -cp ... main.JobRunner --verify-payroll YYYY-MM
+ *                                                compare the payroll engine with v_motorph_payslip for
+ *                                                the month; exits 1 on any difference
+ *
+ * This runner is the deployed home of the jobs. The desktop client only starts them
+ * in-process when -Djobs.inProcess=true / JOBS_IN_PROCESS=true (single-machine setups
+ * without a runner); otherwise every client would sweep attendance at login. Running
+ * both is harmless: auto clock-out only touches records that are still open.
+ */
+public final class JobRunner {
+
+    private static final Logger LOG = LogManager.getLogger(JobRunner.class);
+
+    public static final String    AUTO_CLOCK_OUT = "auto-clock-out";
+    public static final String    CLOSE_PERIOD   = "close-period";
+    public static final String    VERIFY_PAYROLL = "verify-payroll";
+    public static final LocalTime CUTOFF         = LocalTime.of(6, 50);
+
+    private JobRunner() { }
+
+    /** Registers the daily jobs on a new scheduler and returns it. */
+    public static JobScheduler start(boolean daemon) {
+        JobScheduler scheduler = new JobScheduler(daemon, Clock.systemDefaultZone());
+        scheduler.scheduleDaily(AUTO_CLOCK_OUT, CUTOFF, JobRunner::autoClockOutYesterday);
+
+        // started after today's cutoff: close yesterday's open records now
+        if (!LocalTime.now().isBefore(CUTOFF)) scheduler.runNow(AUTO_CLOCK_OUT);
+        return scheduler;
+    }
+
+    public static boolean isEnabledInClient() {
+        String v = System.getProperty("jobs.inProcess");
+        if (v == null) v = System.getenv("JOBS_IN_PROCESS");
+        return v != null && Boolean.parseBoolean(v.trim());
+    }
+
+    private static long autoClockOutYesterday() throws Exception {
+        return autoClockOut(LocalDate.now().minusDays(1));
+    }
+
+    private static long autoClockOut(LocalDate date) throws Exception {
+        AttendanceService attendance = ServiceRegistry.getAttendanceService();
+        return attendance.autoClockOutAll(date, CUTOFF);
+    }
+
+    private static long closePeriod(YearMonth month) {
+        PayslipService payslips = ServiceRegistry.getPayslipService();
+        return payslips.closePeriod(month, JobRunner.class.getSimpleName()).getPayslips();
+    }
+
+    /** Number of differences between the engine and the view (0 when they agree). */
+    private static long verifyPayroll(YearMonth month) {
+        VerificationReport report = new PayrollEngine().verify(month);
+        return report.getMismatches().size() + report.getOnlyInEngine().size() + report.getOnlyInView().size();
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && "--once".equals(args[0])) {
+            LocalDate date = args.length > 1 ? LocalDate.parse(args[1]) : LocalDate.now().minusDays(1);
+            long rows = JobScheduler.runLogged(AUTO_CLOCK_OUT + " " + date, () -> autoClockOut(date));
+            System.exit(rows < 0 ? 1 : 0);
+        }
+        if (args.length > 1 && "--close-period".equals(args[0])) {
+            YearMonth month = YearMonth.parse(args[1]);
+            long rows = JobScheduler.runLogged(CLOSE_PERIOD + " " + month, () -> closePeriod(month));
+            System.exit(rows < 0 ? 1 : 0);
+        }
+        if (args.length > 1 && "--verify-payroll".equals(args[0])) {
+            YearMonth month = YearMonth.parse(args[1]);
+            long differences = JobScheduler.runLogged(VERIFY_PAYROLL + " " + month, () -> verifyPayroll(month));
+            System.exit(differences == 0 ? 0 : 1);
+        }
+
+        JobScheduler scheduler = start(false);
+        Runtime.getRuntime().addShutdownHook(new Thread(scheduler::close, "job-scheduler-shutdown"));
+        LOG.info("Job runner started");
+    }
+}
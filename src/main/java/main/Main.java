@@ -5,6 +5,9 @@ import ui.PageLogin;
 public class Main {
     
     public static void main(String[] args){    
+        if (JobRunner.isEnabledInClient()) {
+            JobRunner.start(true);
+        }
         new PageLogin().setVisible(true);
     }
 }
\ No newline at end of file
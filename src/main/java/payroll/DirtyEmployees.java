@@ -0,0 +1,70 @@
+package payroll;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Employees whose payslip inputs changed since the draft payroll was last refreshed.
+ *
+ * Services mark an employee after writing attendance, overtime approvals or employee
+ * data; {@link DraftPayslipSet} drains the set and re-reads only those employees.
+ * Writes that touch an unknown set of employees (e.g. the set-based auto clock-out)
+ * call {@link #markEveryone()}.
+ */
+public final class DirtyEmployees {
+
+    /** What {@link #drain()} took out of the set. */
+    public static final class Batch {
+        private final boolean everyone;
+        private final Set<Integer> employeeIDs;
+
+        Batch(boolean everyone, Set<Integer> employeeIDs) {
+            this.everyone = everyone;
+            this.employeeIDs = employeeIDs;
+        }
+
+        public boolean isEveryone()        { return everyone; }
+        public Set<Integer> getEmployeeIDs() { return employeeIDs; }
+        public boolean isEmpty()           { return !everyone && employeeIDs.isEmpty(); }
+    }
+
+    private static final class Holder {
+        static final DirtyEmployees INSTANCE = new DirtyEmployees();
+    }
+
+    public static DirtyEmployees shared() {
+        return Holder.INSTANCE;
+    }
+
+    private final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean everyone = new AtomicBoolean();
+
+    public void mark(int employeeID) {
+        ids.add(employeeID);
+    }
+
+    public void markAll(Collection<Integer> employeeIDs) {
+        ids.addAll(employeeIDs);
+    }
+
+    public void markEveryone() {
+        everyone.set(true);
+    }
+
+    /** Takes every pending mark; marks made while draining land in the next batch. */
+    public Batch drain() {
+        boolean all = everyone.getAndSet(false);
+        Set<Integer> taken = new TreeSet<>();
+        for (Integer id : ids) {
+            if (ids.remove(id)) taken.add(id);
+        }
+        return new Batch(all, taken);
+    }
+
+    public boolean isEmpty() {
+        return !everyone.get() && ids.isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+package payroll;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pojo.Payslip;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Cached payslips of the draft (current, still open) period, kept up to date
+ * incrementally.
+ *
+ * Each {@link #refresh()} drains {@link DirtyEmployees} and re-reads only those
+ * employees; with nothing dirty it does not query at all. The whole month is reloaded
+ * when the month rolls over, when everyone was marked, and every {@code fullReloadMs}
+ * so that writes made by other clients show up.
+ */
+public final class DraftPayslipSet {
+
+    private static final Logger LOG = LogManager.getLogger(DraftPayslipSet.class);
+
+    /** Reads the view rows of the month, for the given employees or all of them (null). */
+    @FunctionalInterface
+    public interface Loader {
+        List<Payslip> load(YearMonth month, Collection<Integer> employeeIDs) throws SQLException;
+    }
+
+    /** Outcome of one refresh: which employees were re-read, and how. */
+    public static final class Refresh {
+        private final YearMonth month;
+        private final boolean fullReload;
+        private final Set<Integer> refreshedEmployeeIDs;
+        private final long elapsedMs;
+
+        Refresh(YearMonth month, boolean fullReload, Set<Integer> refreshedEmployeeIDs, long elapsedMs) {
+            this.month = month;
+            this.fullReload = fullReload;
+            this.refreshedEmployeeIDs = Collections.unmodifiableSet(refreshedEmployeeIDs);
+            this.elapsedMs = elapsedMs;
+        }
+
+        public YearMonth getMonth()                  { return month; }
+        public boolean isFullReload()                { return fullReload; }
+        public Set<Integer> getRefreshedEmployeeIDs() { return refreshedEmployeeIDs; }
+        public long getElapsedMs()                   { return elapsedMs; }
+
+        @Override
+        public String toString() {
+            return "Draft payroll " + month + (fullReload ? " (full reload)" : "")
+                    + ": refreshed " + refreshedEmployeeIDs.size() + " employees "
+                    + refreshedEmployeeIDs + " in " + elapsedMs + " ms";
+        }
+    }
+
+    private final Loader loader;
+    private final DirtyEmployees dirty;
+    private final Clock clock;
+    private final long fullReloadMs;
+
+    private final Map<Integer, List<Payslip>> byEmployee = new TreeMap<>();
+    private YearMonth month;
+    private long loadedAt;
+    private Refresh lastRefresh;
+
+    public DraftPayslipSet(Loader loader, DirtyEmployees dirty, Clock clock, long fullReloadMs) {
+        this.loader = loader;
+        this.dirty = dirty;
+        this.clock = clock;
+        this.fullReloadMs = fullReloadMs;
+    }
+
+    /** The month the draft covers right now. */
+    public YearMonth getMonth() {
+        return YearMonth.now(clock);
+    }
+
+    /** Brings the set up to date and returns its payslips, ordered by employee ID. */
+    public synchronized List<Payslip> getPayslips() throws SQLException {
+        refresh();
+        List<Payslip> all = new ArrayList<>();
+        for (List<Payslip> rows : byEmployee.values()) all.addAll(rows);
+        return all;
+    }
+
+    /** Re-reads what changed since the last refresh; see the class comment. */
+    public synchronized Refresh refresh() throws SQLException {
+        long start = System.nanoTime();
+        YearMonth current = getMonth();
+        boolean stale = month == null || !month.equals(current) || clock.millis() - loadedAt >= fullReloadMs;
+
+        DirtyEmployees.Batch batch = dirty.drain();
+        Set<Integer> refreshed;
+        boolean full = stale || batch.isEveryone();
+        if (full) {
+            try {
+                refreshed = reloadAll(current);
+            } catch (SQLException | RuntimeException e) {
+                dirty.markAll(batch.getEmployeeIDs());
+                if (batch.isEveryone()) dirty.markEveryone();
+                throw e;
+            }
+        } else if (batch.isEmpty()) {
+            refreshed = new TreeSet<>();
+        } else {
+            try {
+                refreshed = reload(current, batch.getEmployeeIDs());
+            } catch (SQLException | RuntimeException e) {
+                dirty.markAll(batch.getEmployeeIDs());
+                throw e;
+            }
+        }
+
+        lastRefresh = new Refresh(current, full, refreshed, (System.nanoTime() - start) / 1_000_000);
+        if (!refreshed.isEmpty()) LOG.info(lastRefresh);
+        return lastRefresh;
+    }
+
+    /** The report of the most recent refresh, or null before the first one. */
+    public synchronized Refresh getLastRefresh() {
+        return lastRefresh;
+    }
+
+    // ---- internals ----
+
+    private Set<Integer> reloadAll(YearMonth current) throws SQLException {
+        List<Payslip> rows = loader.load(current, null);
+        byEmployee.clear();
+        for (Payslip p : rows) add(p);
+        month = current;
+        loadedAt = clock.millis();
+        return new TreeSet<>(byEmployee.keySet());
+    }
+
+    private Set<Integer> reload(YearMonth current, Set<Integer> employeeIDs) throws SQLException {
+        List<Payslip> rows = loader.load(current, employeeIDs);
+        // employees without a row any more (e.g. all attendance deleted) drop out
+        byEmployee.keySet().removeAll(employeeIDs);
+        for (Payslip p : rows) add(p);
+        return new TreeSet<>(employeeIDs);
+    }
+
+    private void add(Payslip p) {
+        byEmployee.computeIfAbsent(p.getEmployeeID(), id -> new ArrayList<>(1)).add(p);
+    }
+}
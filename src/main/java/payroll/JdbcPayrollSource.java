@@ -0,0 +1,104 @@
+package payroll;
+
+import daoimpl.PayslipDAOImpl;
+import db.DatabaseConnection;
+import pojo.Payslip;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads payroll inputs with two set-based queries per month.
+ *
+ * Rates come from compensation, hours from attendance, overtime from approved
+ * (approvalStatusID = 1) overtime requests. The allowances and payslip numbers are fixed
+ * per-employee values that only the view exposes in this schema, so they are read from
+ * v_motorph_payslip's allowance columns.
+ */
+public class JdbcPayrollSource implements PayrollSource {
+
+    private static final String SELECT_INPUTS =
+        "SELECT e.employeeID, "
+      + "       CONCAT(e.lastName, ', ', e.firstName)     AS employeeName, "
+      + "       CONCAT(p.position, ' / ', d.departmentName) AS positionDepartment, "
+      + "       c.basicSalary, c.hourlyRate, "
+      + "       att.hours                                  AS workedHours, "
+      + "       COALESCE(ot.hours, 0)                      AS overtimeHours "
+      + "  FROM employee e "
+      + "  JOIN compensation c ON c.compensationID = e.compensationID "
+      + "  JOIN position p     ON p.positionID     = e.positionID "
+      + "  JOIN department d   ON d.departmentID   = e.departmentID "
+      + "  JOIN (SELECT employeeID, COALESCE(SUM(workedHours), 0) AS hours "
+      + "          FROM attendance WHERE `date` >= ? AND `date` < ? "
+      + "         GROUP BY employeeID) att ON att.employeeID = e.employeeID "
+      + "  LEFT JOIN (SELECT employeeID, SUM(TIMESTAMPDIFF(MINUTE, overtimeStart, overtimeEnd)) / 60 AS hours "
+      + "               FROM overtime "
+      + "              WHERE approvalStatusID = 1 AND overtimeStart >= ? AND overtimeStart < ? "
+      + "              GROUP BY employeeID) ot ON ot.employeeID = e.employeeID "
+      + " ORDER BY e.employeeID";
+
+    private static final String SELECT_ALLOWANCES =
+        "SELECT EMPLOYEE_ID, PAYSILP_NO, Rice_Subsidy, Phone_Allowance, Clothing_Allowance "
+      + "  FROM v_motorph_payslip WHERE PERIOD_END_DATE >= ? AND PERIOD_END_DATE < ?";
+
+    @Override
+    public List<PayrollInput> loadInputs(YearMonth month) throws SQLException {
+        LocalDate first = month.atDay(1);
+        LocalDate next  = first.plusMonths(1);
+
+        Map<Integer, Object[]> allowances = new HashMap<>();
+        List<PayrollInput> inputs = new ArrayList<>();
+        try (Connection c = DatabaseConnection.getInstance().getConnection()) {
+            try (PreparedStatement ps = c.prepareStatement(SELECT_ALLOWANCES)) {
+                ps.setDate(1, Date.valueOf(first));
+                ps.setDate(2, Date.valueOf(next));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        allowances.put(rs.getInt(1), new Object[]{
+                                rs.getString(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5)});
+                    }
+                }
+            }
+            try (PreparedStatement ps = c.prepareStatement(SELECT_INPUTS)) {
+                ps.setDate(1, Date.valueOf(first));
+                ps.setDate(2, Date.valueOf(next));
+                ps.setDate(3, Date.valueOf(first));
+                ps.setDate(4, Date.valueOf(next));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        int id = rs.getInt("employeeID");
+                        Object[] a = allowances.getOrDefault(id, new Object[]{null, 0d, 0d, 0d});
+                        inputs.add(new PayrollInput(
+                                id,
+                                rs.getString("employeeName"),
+                                rs.getString("positionDepartment"),
+                                first, month.atEndOfMonth(),
+                                rs.getDouble("basicSalary"),
+                                rs.getDouble("hourlyRate"),
+                                rs.getDouble("workedHours"),
+                                rs.getDouble("overtimeHours"),
+                                (Double) a[1], (Double) a[2], (Double) a[3],
+                                (String) a[0]));
+                    }
+                }
+            }
+        }
+        return inputs;
+    }
+
+    /** Reads the month straight from v_motorph_payslip, never from stored or draft payslips. */
+    @Override
+    public List<Payslip> loadViewPayslips(YearMonth month) throws SQLException {
+        return new PayslipDAOImpl().getPayslipsByPeriodEnd(
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+    }
+}
@@ -0,0 +1,240 @@
+package payroll;
+
+import dao.PayrollRunDAO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pojo.PayrollRunCheckpoint;
+import pojo.Payslip;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Materializes one month of {@code v_motorph_payslip} into stored payslips and closes
+ * the period, as a chunked, resumable batch job.
+ *
+ * - Only one run per month at a time: the run holds the DB advisory lock
+ *   {@code motorph.payroll.YYYY-MM} and fails fast if another session has it.
+ * - Employees are read in ID order, {@code chunkSize} at a time. Each chunk's view rows
+ *   are evaluated as {@code parallelism} concurrent queries, then written together with
+ *   the checkpoint in one transaction.
+ * - A run that fails (crash, DB timeout) leaves the checkpoint at its last committed
+ *   chunk; running the month again continues after it.
+ * - Read, compute and write times and rates are logged and returned in a {@link Report}.
+ */
+public final class PayrollBatchRun {
+
+    private static final Logger LOG = LogManager.getLogger(PayrollBatchRun.class);
+
+    public static final int DEFAULT_CHUNK_SIZE  = 250;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /** Time spent and items processed in one stage of the run. */
+    public static final class Stage {
+        private final String name;
+        private long nanos;
+        private long items;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        public String getName()  { return name; }
+        public long getItems()   { return items; }
+        public long getMillis()  { return nanos / 1_000_000; }
+
+        public double getItemsPerSecond() {
+            return nanos == 0 ? 0 : items * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d in %d ms (%.0f/s)", name, items, getMillis(), getItemsPerSecond());
+        }
+    }
+
+    /** Outcome of a run: how much this invocation did, and where it resumed from. */
+    public static final class Report {
+        private final YearMonth month;
+        private final int resumedAfterEmployeeID;
+        private final int chunks;
+        private final int payslips;
+        private final int totalPayslips;
+        private final Map<String, Stage> stages;
+        private final long elapsedMs;
+
+        Report(YearMonth month, int resumedAfterEmployeeID, int chunks, int payslips, int totalPayslips,
+               Map<String, Stage> stages, long elapsedMs) {
+            this.month = month;
+            this.resumedAfterEmployeeID = resumedAfterEmployeeID;
+            this.chunks = chunks;
+            this.payslips = payslips;
+            this.totalPayslips = totalPayslips;
+            this.stages = stages;
+            this.elapsedMs = elapsedMs;
+        }
+
+        public YearMonth getMonth()            { return month; }
+        public boolean isResumed()             { return resumedAfterEmployeeID > 0; }
+        /** Last employee stored by an earlier, failed run (0 for a fresh run). */
+        public int getResumedAfterEmployeeID() { return resumedAfterEmployeeID; }
+        /** Chunks written by this invocation. */
+        public int getChunks()                 { return chunks; }
+        /** Payslips written by this invocation. */
+        public int getPayslips()               { return payslips; }
+        /** Payslips stored for the month, including earlier attempts. */
+        public int getTotalPayslips()          { return totalPayslips; }
+        public Stage getStage(String name)     { return stages.get(name); }
+        public long getElapsedMs()             { return elapsedMs; }
+
+        @Override
+        public String toString() {
+            return "Payroll run " + month + (isResumed() ? " (resumed after employee " + resumedAfterEmployeeID + ")" : "")
+                    + ": " + payslips + " payslips in " + chunks + " chunks, " + totalPayslips + " total, "
+                    + elapsedMs + " ms; " + stages.values();
+        }
+    }
+
+    public static final String READ    = "read";
+    public static final String COMPUTE = "compute";
+    public static final String WRITE   = "write";
+
+    private final PayrollRunDAO dao;
+    private final DraftPayslipSet.Loader viewLoader;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * @param viewLoader reads the view rows of given employees for a month
+     *                   (never called with null employee IDs here)
+     */
+    public PayrollBatchRun(PayrollRunDAO dao, DraftPayslipSet.Loader viewLoader, int chunkSize, int parallelism) {
+        if (chunkSize < 1 || parallelism < 1) throw new IllegalArgumentException("chunkSize and parallelism must be >= 1");
+        this.dao = dao;
+        this.viewLoader = viewLoader;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    public static String lockName(YearMonth month) {
+        return "motorph.payroll." + month;
+    }
+
+    /**
+     * Runs (or resumes) the month and closes it.
+     *
+     * @throws IllegalStateException if another run of the month is in progress or the
+     *         month is already closed
+     */
+    public Report run(YearMonth month, String startedBy) throws SQLException {
+        Date first = Date.valueOf(month.atDay(1));
+        Date end   = Date.valueOf(month.atEndOfMonth());
+
+        PayrollRunDAO.AdvisoryLock lock = dao.tryLock(lockName(month));
+        if (lock == null) {
+            throw new IllegalStateException("A payroll run for " + month + " is already in progress");
+        }
+        // released last, after the worker pool is down; also if creating the pool fails
+        try (lock) {
+            ExecutorService pool = Executors.newFixedThreadPool(parallelism, workerThreads(month));
+            try {
+                if (dao.isPeriodClosed(first)) {
+                    throw new IllegalStateException("Payroll period " + month + " is already closed");
+                }
+                PayrollRunCheckpoint checkpoint = dao.getCheckpoint(first);
+                int resumedAfter = checkpoint != null ? checkpoint.getLastEmployeeID() : 0;
+                int total        = checkpoint != null ? checkpoint.getPayslipCount() : 0;
+                if (resumedAfter > 0) {
+                    LOG.info("Payroll run {} resuming after employee {} ({} payslips already stored)",
+                            month, resumedAfter, total);
+                }
+
+                Map<String, Stage> stages = new LinkedHashMap<>();
+                Stage read    = stages.computeIfAbsent(READ, Stage::new);
+                Stage compute = stages.computeIfAbsent(COMPUTE, Stage::new);
+                Stage write   = stages.computeIfAbsent(WRITE, Stage::new);
+
+                long runStart = System.nanoTime();
+                int last = resumedAfter;
+                int chunks = 0;
+                int written = 0;
+                while (true) {
+                    long t0 = System.nanoTime();
+                    List<Integer> ids = dao.getEmployeeIDsAfter(last, chunkSize);
+                    long t1 = System.nanoTime();
+                    read.nanos += t1 - t0;
+                    read.items += ids.size();
+                    if (ids.isEmpty()) break;
+
+                    List<Payslip> rows = computeChunk(pool, month, ids);
+                    long t2 = System.nanoTime();
+                    compute.nanos += t2 - t1;
+                    compute.items += rows.size();
+
+                    last = ids.get(ids.size() - 1);
+                    dao.writeChunk(first, rows, last, startedBy);
+                    write.nanos += System.nanoTime() - t2;
+                    write.items += rows.size();
+
+                    chunks++;
+                    written += rows.size();
+                    LOG.debug("Payroll run {}: chunk {} up to employee {} stored ({} payslips)",
+                            month, chunks, last, rows.size());
+                }
+
+                dao.finishRun(first, end, startedBy);
+                Report report = new Report(month, resumedAfter, chunks, written, total + written, stages,
+                        (System.nanoTime() - runStart) / 1_000_000);
+                LOG.info(report);
+                return report;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    // Evaluates the chunk's view rows as parallel slices; result ordered by employee ID
+    private List<Payslip> computeChunk(ExecutorService pool, YearMonth month, List<Integer> ids) throws SQLException {
+        int sliceSize = (ids.size() + parallelism - 1) / parallelism;
+        List<Future<List<Payslip>>> slices = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += sliceSize) {
+            List<Integer> slice = ids.subList(from, Math.min(ids.size(), from + sliceSize));
+            slices.add(pool.submit(() -> viewLoader.load(month, slice)));
+        }
+
+        List<Payslip> rows = new ArrayList<>();
+        try {
+            for (Future<List<Payslip>> f : slices) rows.addAll(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Payroll run " + month + " interrupted", e);
+        } catch (ExecutionException e) {
+            for (Future<?> f : slices) f.cancel(true);
+            if (e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+            throw new RuntimeException("Error computing payroll chunk", e.getCause());
+        }
+        rows.sort(Comparator.comparingInt(Payslip::getEmployeeID));
+        return rows;
+    }
+
+    private static ThreadFactory workerThreads(YearMonth month) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "payroll-run-" + month + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package payroll;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import pojo.Payslip;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Computes payslips in Java instead of through {@code v_motorph_payslip}.
+ *
+ * A whole month is loaded with {@link PayrollSource#loadInputs} and computed on a
+ * fork-join pool, one task per employee. {@link #verify(YearMonth)} runs the same month
+ * and diffs every amount against the view, so the engine can be checked before anything
+ * relies on it.
+ */
+public class PayrollEngine {
+
+    private static final Logger LOG = LogManager.getLogger(PayrollEngine.class);
+
+    /** Amounts within a centavo are considered equal (the view rounds per column). */
+    static final double TOLERANCE = 0.01;
+
+    private static final Map<String, ToDoubleFunction<Payslip>> COMPARED_FIELDS = new LinkedHashMap<>();
+    static {
+        COMPARED_FIELDS.put("Daily_Rate",       Payslip::getDailyRate);
+        COMPARED_FIELDS.put("Days_Worked",      Payslip::getDaysWorked);
+        COMPARED_FIELDS.put("Overtime_Hours",   Payslip::getOvertimeHours);
+        COMPARED_FIELDS.put("GROSS_INCOME",     Payslip::getGrossIncome);
+        COMPARED_FIELDS.put("TOTAL_BENEFITS",   Payslip::getTotalBenefits);
+        COMPARED_FIELDS.put("SSS",              Payslip::getSss);
+        COMPARED_FIELDS.put("Philhealth",       Payslip::getPhilhealth);
+        COMPARED_FIELDS.put("Pagibig",          Payslip::getPagibig);
+        COMPARED_FIELDS.put("Withholding_Tax",  Payslip::getWithholdingTax);
+        COMPARED_FIELDS.put("TOTAL_DEDUCTIONS", Payslip::getTotalDeductions);
+        COMPARED_FIELDS.put("TAKE_HOME_PAY",    Payslip::getTakeHomePay);
+    }
+
+    private final PayslipCalculator calculator;
+    private final PayrollSource source;
+    private final ForkJoinPool pool;
+
+    /** Uses the JDBC source and the common fork-join pool. */
+    public PayrollEngine() {
+        this(new PayslipCalculator(), new JdbcPayrollSource(), ForkJoinPool.commonPool());
+    }
+
+    public PayrollEngine(PayslipCalculator calculator, PayrollSource source, ForkJoinPool pool) {
+        this.calculator = calculator;
+        this.source = source;
+        this.pool = pool;
+    }
+
+    /** Payslips for every employee with attendance in the month, ordered by employee ID. */
+    public List<Payslip> runMonth(YearMonth month) {
+        try {
+            long start = System.nanoTime();
+            List<Payslip> payslips = compute(source.loadInputs(month));
+            LOG.info("Payroll {} computed: {} payslips in {} ms",
+                    month, payslips.size(), (System.nanoTime() - start) / 1_000_000);
+            return payslips;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading payroll inputs for " + month, e);
+        }
+    }
+
+    /** Computes each input as its own fork-join task; the result keeps the input order. */
+    public List<Payslip> compute(List<PayrollInput> inputs) {
+        try {
+            return pool.submit(() -> inputs.parallelStream()
+                            .map(calculator::compute)
+                            .collect(Collectors.toList()))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Payroll computation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error computing payroll", e.getCause());
+        }
+    }
+
+    /** Runs the month and compares it with the view, employee by employee and field by field. */
+    public VerificationReport verify(YearMonth month) {
+        List<Payslip> engine = runMonth(month);
+        List<Payslip> view;
+        try {
+            view = source.loadViewPayslips(month);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading payslips from view for " + month, e);
+        }
+        VerificationReport report = diff(month, engine, view);
+        if (report.isClean()) {
+            LOG.info("Payroll {} verified against view: {} payslips match", month, report.getMatched());
+        } else {
+            LOG.warn(report);
+        }
+        return report;
+    }
+
+    /** Pure diff of two payslip sets keyed by employee ID. */
+    public static VerificationReport diff(YearMonth month, List<Payslip> engine, List<Payslip> view) {
+        Map<Integer, Payslip> byEmployee = new TreeMap<>();
+        for (Payslip p : view) byEmployee.put(p.getEmployeeID(), p);
+
+        int matched = 0;
+        List<VerificationReport.Mismatch> mismatches = new ArrayList<>();
+        List<Integer> onlyInEngine = new ArrayList<>();
+        for (Payslip actual : engine) {
+            Payslip expected = byEmployee.remove(actual.getEmployeeID());
+            if (expected == null) {
+                onlyInEngine.add(actual.getEmployeeID());
+                continue;
+            }
+            boolean same = true;
+            for (Map.Entry<String, ToDoubleFunction<Payslip>> f : COMPARED_FIELDS.entrySet()) {
+                double e = f.getValue().applyAsDouble(expected);
+                double a = f.getValue().applyAsDouble(actual);
+                if (Math.abs(e - a) > TOLERANCE + 1e-9) {
+                    mismatches.add(new VerificationReport.Mismatch(actual.getEmployeeID(), f.getKey(), e, a));
+                    same = false;
+                }
+            }
+            if (same) matched++;
+        }
+        return new VerificationReport(month, matched, mismatches, onlyInEngine, new ArrayList<>(byEmployee.keySet()));
+    }
+}
@@ -0,0 +1,62 @@
+package payroll;
+
+import java.time.LocalDate;
+
+/**
+ * Everything the payroll math needs for one employee and one pay period: rates from
+ * compensation, hours from attendance and approved overtime, and the fixed allowances.
+ */
+public final class PayrollInput {
+
+    private final int employeeID;
+    private final String employeeName;
+    private final String positionDepartment;
+    private final LocalDate periodStart;
+    private final LocalDate periodEnd;
+    private final double monthlyRate;
+    private final double hourlyRate;
+    private final double workedHours;
+    private final double overtimeHours;
+    private final double riceSubsidy;
+    private final double phoneAllowance;
+    private final double clothingAllowance;
+    private final String payslipNo;
+
+    public PayrollInput(int employeeID, String employeeName, String positionDepartment,
+                        LocalDate periodStart, LocalDate periodEnd,
+                        double monthlyRate, double hourlyRate,
+                        double workedHours, double overtimeHours,
+                        double riceSubsidy, double phoneAllowance, double clothingAllowance,
+                        String payslipNo) {
+        this.employeeID = employeeID;
+        this.employeeName = employeeName;
+        this.positionDepartment = positionDepartment;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.monthlyRate = monthlyRate;
+        this.hourlyRate = hourlyRate;
+        this.workedHours = workedHours;
+        this.overtimeHours = overtimeHours;
+        this.riceSubsidy = riceSubsidy;
+        this.phoneAllowance = phoneAllowance;
+        this.clothingAllowance = clothingAllowance;
+        this.payslipNo = payslipNo;
+    }
+
+    public int getEmployeeID()             { return employeeID; }
+    public String getEmployeeName()        { return employeeName; }
+    public String getPositionDepartment()  { return positionDepartment; }
+    public LocalDate getPeriodStart()      { return periodStart; }
+    public LocalDate getPeriodEnd()        { return periodEnd; }
+    public double getMonthlyRate()         { return monthlyRate; }
+    public double getHourlyRate()          { return hourlyRate; }
+    /** Regular hours from attendance in the period. */
+    public double getWorkedHours()         { return workedHours; }
+    /** Hours of approved overtime in the period. */
+    public double getOvertimeHours()       { return overtimeHours; }
+    public double getRiceSubsidy()         { return riceSubsidy; }
+    public double getPhoneAllowance()      { return phoneAllowance; }
+    public double getClothingAllowance()   { return clothingAllowance; }
+    /** Existing payslip number for the period, or null. */
+    public String getPayslipNo()           { return payslipNo; }
+}
@@ -0,0 +1,17 @@
+package payroll;
+
+import pojo.Payslip;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+
+/** Where the engine reads its inputs, and the view rows it is verified against. */
+public interface PayrollSource {
+
+    /** One input per employee with attendance in the month, ordered by employee ID. */
+    List<PayrollInput> loadInputs(YearMonth month) throws SQLException;
+
+    /** The rows {@code v_motorph_payslip} produces for periods ending in the month. */
+    List<Payslip> loadViewPayslips(YearMonth month) throws SQLException;
+}
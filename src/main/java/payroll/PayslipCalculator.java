@@ -0,0 +1,131 @@
+package payroll;
+
+import pojo.Payslip;
+import util.Money;
+
+import java.sql.Date;
+
+/**
+ * MotorPH payroll rules for one employee-period, as plain Java.
+ *
+ * - Earnings: daily rate = hourly rate x 8; gross = (worked hours + approved overtime
+ *   hours) x hourly rate.
+ * - Benefits: rice subsidy + phone allowance + clothing allowance.
+ * - Deductions, all on the monthly basic rate: SSS (contribution table), PhilHealth
+ *   (employee half of 3%, premium 300..1,800), Pag-IBIG (1% / 2%, capped at 100), then
+ *   withholding tax (BIR monthly table) on gross less those contributions.
+ * - Take-home = gross + benefits - deductions.
+ *
+ * Amounts are {@link Money} (whole centavos); every product is rounded to the centavo
+ * half away from zero. Stateless and thread-safe.
+ */
+public final class PayslipCalculator {
+
+    private static final int HOURS_PER_DAY = 8;
+
+    // SSS: 135.00 below 3,250; +22.50 per 500 bracket; 1,125.00 from 24,750
+    private static final Money SSS_FLOOR_SALARY = Money.ofCentavos(325_000);
+    private static final Money SSS_MIN          = Money.ofCentavos(13_500);
+    private static final Money SSS_STEP         = Money.ofCentavos(2_250);
+    private static final long  SSS_BRACKET      = 50_000;
+    private static final Money SSS_MAX          = Money.ofCentavos(112_500);
+
+    // PhilHealth: 3% premium, 300..1,800, split equally with the employer
+    private static final Money PHILHEALTH_MIN   = Money.ofCentavos(30_000);
+    private static final Money PHILHEALTH_MAX   = Money.ofCentavos(180_000);
+
+    // Pag-IBIG: 1% up to 1,500, 2% above, at most 100
+    private static final Money PAGIBIG_LOW_LIMIT = Money.ofCentavos(150_000);
+    private static final Money PAGIBIG_MAX       = Money.ofCentavos(10_000);
+
+    // BIR monthly withholding: {lower bound, base tax (centavos), percent on the excess}
+    private static final long[][] TAX_TABLE = {
+        { 66_666_700, 20_083_333, 35 },
+        { 16_666_700,  4_083_333, 32 },
+        {  6_666_700,  1_083_300, 30 },
+        {  3_333_300,    250_000, 25 },
+        {  2_083_300,          0, 20 },
+    };
+
+    public Payslip compute(PayrollInput in) {
+        Money hourly   = Money.of(in.getHourlyRate());
+        Money monthly  = Money.of(in.getMonthlyRate());
+        Money daily    = hourly.times(HOURS_PER_DAY);
+        double hours   = in.getWorkedHours();
+        double otHours = in.getOvertimeHours();
+
+        Money gross    = hourly.times(hours + otHours);
+
+        Money rice     = Money.of(in.getRiceSubsidy());
+        Money phone    = Money.of(in.getPhoneAllowance());
+        Money clothing = Money.of(in.getClothingAllowance());
+        Money benefits = rice.plus(phone).plus(clothing);
+
+        Money sss        = sss(monthly);
+        Money philhealth = philhealth(monthly);
+        Money pagibig    = pagibig(monthly);
+        Money taxable    = gross.minus(sss).minus(philhealth).minus(pagibig);
+        Money tax        = withholdingTax(taxable);
+        Money deductions = sss.plus(philhealth).plus(pagibig).plus(tax);
+
+        Money takeHome   = gross.plus(benefits).minus(deductions);
+
+        Payslip p = new Payslip();
+        p.setPayslipNo(in.getPayslipNo());
+        p.setEmployeeID(in.getEmployeeID());
+        p.setEmployeeName(in.getEmployeeName());
+        p.setEmployeePositionDepartment(in.getPositionDepartment());
+        p.setPeriodStartDate(in.getPeriodStart() != null ? Date.valueOf(in.getPeriodStart()) : null);
+        p.setPeriodEndDate(in.getPeriodEnd() != null ? Date.valueOf(in.getPeriodEnd()) : null);
+        p.setMonthlyRate(monthly.toPesos());
+        p.setDailyRate(daily.toPesos());
+        p.setDaysWorked(Money.of(hours / HOURS_PER_DAY).toPesos());   // hundredths of a day
+        p.setOvertimeHours(Money.of(otHours).toPesos());
+        p.setGrossIncome(gross.toPesos());
+        p.setGrossIncomeDup(gross.toPesos());
+        p.setRiceSubsidy(rice.toPesos());
+        p.setPhoneAllowance(phone.toPesos());
+        p.setClothingAllowance(clothing.toPesos());
+        p.setTotalBenefits(benefits.toPesos());
+        p.setBenefits(benefits.toPesos());
+        p.setSss(sss.toPesos());
+        p.setPhilhealth(philhealth.toPesos());
+        p.setPagibig(pagibig.toPesos());
+        p.setWithholdingTax(tax.toPesos());
+        p.setTotalDeductions(deductions.toPesos());
+        p.setDeductions(deductions.toPesos());
+        p.setTakeHomePay(takeHome.toPesos());
+        return p;
+    }
+
+    // ---- contribution and tax tables (monthly amounts) ----
+
+    public static Money sss(Money monthlySalary) {
+        if (monthlySalary.compareTo(SSS_FLOOR_SALARY) < 0) return SSS_MIN;
+        long brackets = monthlySalary.minus(SSS_FLOOR_SALARY).centavos() / SSS_BRACKET + 1;
+        return SSS_MIN.plus(SSS_STEP.times(brackets)).min(SSS_MAX);
+    }
+
+    public static Money philhealth(Money monthlySalary) {
+        // clamp the exact premium (salary x 3%) before taking the employee half
+        long premiumX100 = Math.multiplyExact(monthlySalary.centavos(), 3);
+        if (premiumX100 <= PHILHEALTH_MIN.centavos() * 100) return PHILHEALTH_MIN.ratio(1, 2);
+        if (premiumX100 >= PHILHEALTH_MAX.centavos() * 100) return PHILHEALTH_MAX.ratio(1, 2);
+        return monthlySalary.ratio(3, 200);
+    }
+
+    public static Money pagibig(Money monthlySalary) {
+        long percent = monthlySalary.compareTo(PAGIBIG_LOW_LIMIT) <= 0 ? 1 : 2;
+        return monthlySalary.ratio(percent, 100).min(PAGIBIG_MAX);
+    }
+
+    public static Money withholdingTax(Money taxableIncome) {
+        for (long[] row : TAX_TABLE) {
+            if (taxableIncome.centavos() >= row[0]) {
+                Money excess = taxableIncome.minus(Money.ofCentavos(row[0]));
+                return Money.ofCentavos(row[1]).plus(excess.ratio(row[2], 100));
+            }
+        }
+        return Money.ZERO;
+    }
+}
@@ -0,0 +1,75 @@
+package payroll;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Result of diffing the engine's payslips against {@code v_motorph_payslip} for one month. */
+public final class VerificationReport {
+
+    /** One field of one employee's payslip that differs by more than the tolerance. */
+    public static final class Mismatch {
+        private final int employeeID;
+        private final String field;
+        private final double expected;
+        private final double actual;
+
+        public Mismatch(int employeeID, String field, double expected, double actual) {
+            this.employeeID = employeeID;
+            this.field = field;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public int getEmployeeID() { return employeeID; }
+        public String getField()   { return field; }
+        /** Value from the view. */
+        public double getExpected() { return expected; }
+        /** Value from the engine. */
+        public double getActual()   { return actual; }
+
+        @Override
+        public String toString() {
+            return String.format("employee %d %s: view=%.2f engine=%.2f", employeeID, field, expected, actual);
+        }
+    }
+
+    private final YearMonth month;
+    private final int matched;
+    private final List<Mismatch> mismatches;
+    private final List<Integer> onlyInEngine;
+    private final List<Integer> onlyInView;
+
+    VerificationReport(YearMonth month, int matched, List<Mismatch> mismatches,
+                       List<Integer> onlyInEngine, List<Integer> onlyInView) {
+        this.month = month;
+        this.matched = matched;
+        this.mismatches = Collections.unmodifiableList(new ArrayList<>(mismatches));
+        this.onlyInEngine = Collections.unmodifiableList(new ArrayList<>(onlyInEngine));
+        this.onlyInView = Collections.unmodifiableList(new ArrayList<>(onlyInView));
+    }
+
+    public YearMonth getMonth()             { return month; }
+    /** Employees present on both sides whose payslips agree on every compared field. */
+    public int getMatched()                 { return matched; }
+    public List<Mismatch> getMismatches()   { return mismatches; }
+    public List<Integer> getOnlyInEngine()  { return onlyInEngine; }
+    public List<Integer> getOnlyInView()    { return onlyInView; }
+
+    public boolean isClean() {
+        return mismatches.isEmpty() && onlyInEngine.isEmpty() && onlyInView.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("Payroll verification ").append(month)
+                .append(": matched=").append(matched)
+                .append(", mismatches=").append(mismatches.size())
+                .append(", onlyInEngine=").append(onlyInEngine)
+                .append(", onlyInView=").append(onlyInView);
+        for (Mismatch m : mismatches) sb.append(System.lineSeparator()).append("  ").append(m);
+        return sb.toString();
+    }
+}
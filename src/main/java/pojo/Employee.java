@@ -56,6 +56,34 @@ public class Employee {
         this.position = position;
     }
 
+    /** Field-by-field copy, so cached profiles are never shared with callers. */
+    public Employee(Employee other) {
+        this.employeeID = other.employeeID;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.birthDate = other.birthDate;
+        this.phoneNo = other.phoneNo;
+        this.email = other.email;
+        this.userID = other.userID;
+        this.statusID = other.statusID;
+        this.positionID = other.positionID;
+        this.departmentID = other.departmentID;
+        this.supervisorID = other.supervisorID;
+        this.position = other.position;
+        this.supervisorName = other.supervisorName;
+        this.statusDesc = other.statusDesc;
+        this.sssNo = other.sssNo;
+        this.pagibigNo = other.pagibigNo;
+        this.philhealthNo = other.philhealthNo;
+        this.tinNo = other.tinNo;
+        this.houseNo = other.houseNo;
+        this.street = other.street;
+        this.barangay = other.barangay;
+        this.city = other.city;
+        this.province = other.province;
+        this.zipCode = other.zipCode;
+    }
+
     // Getters and Setters
 
     public int getEmployeeID() { return employeeID; }
@@ -32,6 +32,19 @@ public class Leave {
         this.leaveTypeID = leaveTypeID;
     }
 
+    /** Field-by-field copy, so edits never touch a row shared through the DAO cache. */
+    public Leave(Leave other) {
+        this.leaveID = other.leaveID;
+        this.leaveAllowance = other.leaveAllowance;
+        this.leaveStart = other.leaveStart;
+        this.leaveEnd = other.leaveEnd;
+        this.leaveReason = other.leaveReason;
+        this.dateCreated = other.dateCreated;
+        this.employeeID = other.employeeID;
+        this.approvalStatusID = other.approvalStatusID;
+        this.leaveTypeID = other.leaveTypeID;
+    }
+
     // Getters and Setters
 
     public int getLeaveID() {
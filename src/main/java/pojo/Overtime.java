@@ -26,6 +26,16 @@ public class Overtime {
         this.employeeID = employeeID;
     }
 
+    /** Field-by-field copy, so edits never touch a row shared through the DAO cache. */
+    public Overtime(Overtime other) {
+        this.overtimeID = other.overtimeID;
+        this.overtimeStart = other.overtimeStart;
+        this.overtimeEnd = other.overtimeEnd;
+        this.overtimeReason = other.overtimeReason;
+        this.approvalStatusID = other.approvalStatusID;
+        this.employeeID = other.employeeID;
+    }
+
     // Getters and Setters
 
     public int getOvertimeID() {
@@ -0,0 +1,38 @@
+package pojo;
+
+import java.sql.Date;
+
+public class PayrollRunCheckpoint {
+
+    private Date periodStart;
+    private int lastEmployeeID;     // highest employee ID already stored
+    private int payslipCount;
+    private int chunks;
+    private boolean finished;
+
+    public PayrollRunCheckpoint() {}
+
+    public PayrollRunCheckpoint(Date periodStart, int lastEmployeeID, int payslipCount, int chunks, boolean finished) {
+        this.periodStart = periodStart;
+        this.lastEmployeeID = lastEmployeeID;
+        this.payslipCount = payslipCount;
+        this.chunks = chunks;
+        this.finished = finished;
+    }
+
+    // Getters and setters
+    public Date getPeriodStart() { return periodStart; }
+    public void setPeriodStart(Date periodStart) { this.periodStart = periodStart; }
+
+    public int getLastEmployeeID() { return lastEmployeeID; }
+    public void setLastEmployeeID(int lastEmployeeID) { this.lastEmployeeID = lastEmployeeID; }
+
+    public int getPayslipCount() { return payslipCount; }
+    public void setPayslipCount(int payslipCount) { this.payslipCount = payslipCount; }
+
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+
+    public boolean isFinished() { return finished; }
+    public void setFinished(boolean finished) { this.finished = finished; }
+}
@@ -0,0 +1,37 @@
+package pojo;
+
+public class PayrollSummary {
+
+    private int payslipCount;
+    private double totalGross;
+    private double totalContributions;
+    private double totalDeductions;
+    private double totalNetPay;
+
+    public PayrollSummary() {}
+
+    public PayrollSummary(int payslipCount, double totalGross, double totalContributions,
+                          double totalDeductions, double totalNetPay) {
+        this.payslipCount = payslipCount;
+        this.totalGross = totalGross;
+        this.totalContributions = totalContributions;
+        this.totalDeductions = totalDeductions;
+        this.totalNetPay = totalNetPay;
+    }
+
+    // Getters and setters
+    public int getPayslipCount() { return payslipCount; }
+    public void setPayslipCount(int payslipCount) { this.payslipCount = payslipCount; }
+
+    public double getTotalGross() { return totalGross; }
+    public void setTotalGross(double totalGross) { this.totalGross = totalGross; }
+
+    public double getTotalContributions() { return totalContributions; }
+    public void setTotalContributions(double totalContributions) { this.totalContributions = totalContributions; }
+
+    public double getTotalDeductions() { return totalDeductions; }
+    public void setTotalDeductions(double totalDeductions) { this.totalDeductions = totalDeductions; }
+
+    public double getTotalNetPay() { return totalNetPay; }
+    public void setTotalNetPay(double totalNetPay) { this.totalNetPay = totalNetPay; }
+}
@@ -31,6 +31,34 @@ public class Payslip {
 
     public Payslip() {}
 
+    /** Field-by-field copy, so cached closed-period payslips are never shared with callers. */
+    public Payslip(Payslip other) {
+        this.payslipNo = other.payslipNo;
+        this.employeeID = other.employeeID;
+        this.employeeName = other.employeeName;
+        this.periodStartDate = other.periodStartDate;
+        this.periodEndDate = other.periodEndDate;
+        this.employeePositionDepartment = other.employeePositionDepartment;
+        this.monthlyRate = other.monthlyRate;
+        this.dailyRate = other.dailyRate;
+        this.daysWorked = other.daysWorked;
+        this.overtimeHours = other.overtimeHours;
+        this.grossIncome = other.grossIncome;
+        this.riceSubsidy = other.riceSubsidy;
+        this.phoneAllowance = other.phoneAllowance;
+        this.clothingAllowance = other.clothingAllowance;
+        this.totalBenefits = other.totalBenefits;
+        this.sss = other.sss;
+        this.philhealth = other.philhealth;
+        this.pagibig = other.pagibig;
+        this.withholdingTax = other.withholdingTax;
+        this.totalDeductions = other.totalDeductions;
+        this.grossIncomeDup = other.grossIncomeDup;
+        this.benefits = other.benefits;
+        this.deductions = other.deductions;
+        this.takeHomePay = other.takeHomePay;
+    }
+
     // Getters and setters
     public String getPayslipNo() { return payslipNo; }
     public void setPayslipNo(String payslipNo) { this.payslipNo = payslipNo; }
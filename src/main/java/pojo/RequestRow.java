@@ -0,0 +1,25 @@
+package pojo;
+
+/**
+ * A leave or overtime request together with the display names a list screen needs
+ * (approval status, leave type, employee name), resolved by a single joined query.
+ */
+public class RequestRow<T> {
+
+    private final T request;
+    private final String approvalStatus;
+    private final String typeName;      // leave type; null for overtime
+    private final String employeeName;
+
+    public RequestRow(T request, String approvalStatus, String typeName, String employeeName) {
+        this.request = request;
+        this.approvalStatus = approvalStatus;
+        this.typeName = typeName;
+        this.employeeName = employeeName;
+    }
+
+    public T getRequest() { return request; }
+    public String getApprovalStatus() { return approvalStatus; }
+    public String getTypeName() { return typeName; }
+    public String getEmployeeName() { return employeeName; }
+}
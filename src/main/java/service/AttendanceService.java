@@ -1,27 +1,55 @@
 package service;
 
 import dao.AttendanceDAO;
+import dao.Page;
+import dao.PageQuery;
 import daoimpl.AttendanceDAOImpl;
+import daoimpl.CachingDAO;
+import daoimpl.QueryCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import payroll.DirtyEmployees;
 import pojo.Attendance;
 
 import java.sql.*;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import db.DatabaseConnection;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 
 public class AttendanceService {
 
-    private AttendanceDAO attendanceDAO;
+    private static final Logger LOG = LogManager.getLogger(AttendanceService.class);
+
+    // attendance_monthly_total (sql/001): one row per employee per month
+    private static final String UPSERT_MONTH_TOTAL =
+        "INSERT INTO attendance_monthly_total (employeeID, monthStart, workedHours) " +
+        "SELECT ?, ?, COALESCE(SUM(workedHours), 0) FROM attendance " +
+        "WHERE employeeID = ? AND `date` >= ? AND `date` < ? " +
+        "ON DUPLICATE KEY UPDATE workedHours = VALUES(workedHours)";
+    private static final String UPSERT_MONTH_TOTALS_FOR_DATE =
+        "INSERT INTO attendance_monthly_total (employeeID, monthStart, workedHours) " +
+        "SELECT a.employeeID, ?, COALESCE(SUM(a.workedHours), 0) FROM attendance a " +
+        "WHERE a.`date` >= ? AND a.`date` < ? " +
+        "  AND a.employeeID IN (SELECT employeeID FROM attendance WHERE `date` = ?) " +
+        "GROUP BY a.employeeID " +
+        "ON DUPLICATE KEY UPDATE workedHours = VALUES(workedHours)";
+
+    private final AttendanceDAO attendanceDAO;
+
+    // false once we learn the rollup table is missing (sql/001 not applied yet)
+    private volatile boolean monthTotalsAvailable = true;
 
     public AttendanceService() {
-        try {
-            attendanceDAO = new AttendanceDAOImpl();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error initializing AttendanceDAO", e);
-        }
+        this.attendanceDAO = CachingDAO.wrap(AttendanceDAO.class, new AttendanceDAOImpl(),
+                List.of("attendance"), List.of("attendance"));
     }
 
     public Attendance getAttendanceByID(int attendanceID) {
@@ -48,6 +76,15 @@ public class AttendanceService {
         }
     }
 
+    /** Attendance dated in [from, to), for one employee or everyone when employeeID is null. */
+    public List<Attendance> getAttendanceInRange(Integer employeeID, Date from, Date to) {
+        try {
+            return attendanceDAO.getAttendanceInRange(employeeID, from, to);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving attendance in date range", e);
+        }
+    }
+
     public List<Attendance> getAllAttendance() {
         try {
             return attendanceDAO.getAllAttendance();
@@ -56,17 +93,65 @@ public class AttendanceService {
         }
     }
 
+    /** Employee IDs that have any attendance, ascending; one DISTINCT query instead of reading every row. */
+    public List<Integer> getEmployeeIDsWithAttendance() {
+        try {
+            return attendanceDAO.getEmployeeIDsWithAttendance();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving employee IDs with attendance", e);
+        }
+    }
+
+    /** Row-at-a-time variant of {@link #getAllAttendance()}; must be closed (try-with-resources). */
+    public Stream<Attendance> streamAllAttendance() {
+        try {
+            return attendanceDAO.streamAllAttendance();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming attendance records", e);
+        }
+    }
+
+    /** One newest-first page of attendance; pass {@code page.nextQuery()} to continue. */
+    public Page<Attendance> getAttendancePage(PageQuery query) {
+        try {
+            return attendanceDAO.getAttendancePage(query);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving attendance page", e);
+        }
+    }
+
     public void addAttendance(Attendance attendance) {
         try {
             attendanceDAO.addAttendance(attendance);
+            refreshMonthTotal(attendance.getEmployeeID(), attendance.getDate());
+            DirtyEmployees.shared().mark(attendance.getEmployeeID());
         } catch (SQLException e) {
             throw new RuntimeException("Error adding attendance record", e);
         }
     }
 
+    /** Bulk insert in one transaction; returns the new attendance IDs in input order. */
+    public List<Integer> addAttendanceBatch(Collection<Attendance> records) {
+        try {
+            List<Integer> ids = attendanceDAO.addAttendanceBatch(records);
+            Set<String> refreshed = new LinkedHashSet<>();
+            for (Attendance a : records) {
+                if (refreshed.add(a.getEmployeeID() + "/" + YearMonth.from(a.getDate().toLocalDate()))) {
+                    refreshMonthTotal(a.getEmployeeID(), a.getDate());
+                }
+                DirtyEmployees.shared().mark(a.getEmployeeID());
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adding attendance records", e);
+        }
+    }
+
     public void updateAttendance(Attendance attendance) {
         try {
             attendanceDAO.updateAttendance(attendance);
+            refreshMonthTotal(attendance.getEmployeeID(), attendance.getDate());
+            DirtyEmployees.shared().mark(attendance.getEmployeeID());
         } catch (SQLException e) {
             throw new RuntimeException("Error updating attendance record", e);
         }
@@ -74,26 +159,40 @@ public class AttendanceService {
 
     public void deleteAttendance(int attendanceID) {
         try {
+            Attendance existing = attendanceDAO.getAttendanceByID(attendanceID);
             attendanceDAO.deleteAttendance(attendanceID);
+            if (existing != null) {
+                refreshMonthTotal(existing.getEmployeeID(), existing.getDate());
+                DirtyEmployees.shared().mark(existing.getEmployeeID());
+            }
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting attendance record", e);
         }
     }
 
     // Clock-in and clock out
+    //
+    // Both are idempotent against the unique (employeeID, date) key (sql/002): repeating
+    // a clock-in keeps the first logIn, repeating a clock-out keeps the first logOut.
+    // Each returns today's resulting status, read on the same connection.
 
-    public boolean clockIn(int employeeID) throws SQLException {
+    public AttendanceStatus clockIn(int employeeID) throws SQLException {
         String sql = 
             "INSERT INTO attendance (employeeID, date, logIn) " +
-            "VALUES (?, CURRENT_DATE, CURRENT_TIME)";
+            "VALUES (?, CURRENT_DATE, CURRENT_TIME) " +
+            "ON DUPLICATE KEY UPDATE logIn = COALESCE(logIn, VALUES(logIn))";
         try (Connection c = DatabaseConnection.getInstance().getConnection();
              PreparedStatement p = c.prepareStatement(sql)) {
             p.setInt(1, employeeID);
-            return p.executeUpdate() > 0;
+            p.executeUpdate();
+            return readTodayStatus(c, employeeID);
+        } finally {
+            QueryCache.shared().evict("attendance");
+            DirtyEmployees.shared().mark(employeeID);
         }
     }
 
-    public boolean clockOut(int employeeID) throws SQLException {
+    public AttendanceStatus clockOut(int employeeID) throws SQLException {
         // now also calculate workedHours in decimal hours to 2dp
         String sql =
             "UPDATE attendance SET " +
@@ -104,7 +203,12 @@ public class AttendanceService {
         try (Connection c = DatabaseConnection.getInstance().getConnection();
              PreparedStatement p = c.prepareStatement(sql)) {
             p.setInt(1, employeeID);
-            return p.executeUpdate() > 0;
+            boolean closed = p.executeUpdate() > 0;
+            if (closed) refreshMonthTotal(c, employeeID, YearMonth.now());
+            return readTodayStatus(c, employeeID);
+        } finally {
+            QueryCache.shared().evict("attendance");
+            DirtyEmployees.shared().mark(employeeID);
         }
     }
 
@@ -131,6 +235,12 @@ public class AttendanceService {
     }
 
     public AttendanceStatus getTodayAttendanceStatus(int employeeID) throws SQLException {
+        try (Connection c = DatabaseConnection.getInstance().getConnection()) {
+            return readTodayStatus(c, employeeID);
+        }
+    }
+
+    private AttendanceStatus readTodayStatus(Connection c, int employeeID) throws SQLException {
         AttendanceStatus status = new AttendanceStatus();
 
         String sql =
@@ -138,8 +248,7 @@ public class AttendanceService {
             "FROM attendance " +
             "WHERE employeeID = ? AND date = CURRENT_DATE";
 
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql)) {
+        try (PreparedStatement p = c.prepareStatement(sql)) {
             p.setInt(1, employeeID);
             try (ResultSet r = p.executeQuery()) {
                 if (r.next()) {
@@ -178,15 +287,42 @@ public class AttendanceService {
     
     // For displaying WorkedHours per month in Home Dashboard
     public BigDecimal getMonthlyWorkedHours(int employeeID, int year, int month) throws SQLException {
+        YearMonth ym = YearMonth.of(year, month);
+        if (monthTotalsAvailable) {
+            try (Connection c = DatabaseConnection.getInstance().getConnection();
+                 PreparedStatement p = c.prepareStatement(
+                     "SELECT workedHours FROM attendance_monthly_total WHERE employeeID = ? AND monthStart = ?")) {
+                p.setInt(1, employeeID);
+                p.setDate(2, Date.valueOf(ym.atDay(1)));
+                try (ResultSet r = p.executeQuery()) {
+                    if (r.next()) return r.getBigDecimal(1);
+                }
+                // first read of this month: build the row from attendance
+                refreshMonthTotal(c, employeeID, ym);
+                return sumWorkedHours(c, employeeID, ym);
+            } catch (SQLSyntaxErrorException e) {
+                disableMonthTotals(e);
+            }
+        }
+        return sumWorkedHours(employeeID, ym);
+    }
+
+    // Range predicate on [first day, first day of next month) so idx_attendance_employee_date is used
+    private BigDecimal sumWorkedHours(int employeeID, YearMonth ym) throws SQLException {
+        try (Connection c = DatabaseConnection.getInstance().getConnection()) {
+            return sumWorkedHours(c, employeeID, ym);
+        }
+    }
+
+    private BigDecimal sumWorkedHours(Connection c, int employeeID, YearMonth ym) throws SQLException {
         String sql =
             "SELECT COALESCE(SUM(workedHours),0) AS total " +
             "FROM attendance " +
-            "WHERE employeeID = ? AND YEAR(`date`) = ? AND MONTH(`date`) = ?";
-        try ( Connection c = DatabaseConnection.getInstance().getConnection();
-              PreparedStatement p = c.prepareStatement(sql) ) {
+            "WHERE employeeID = ? AND `date` >= ? AND `date` < ?";
+        try ( PreparedStatement p = c.prepareStatement(sql) ) {
             p.setInt(1, employeeID);
-            p.setInt(2, year);
-            p.setInt(3, month);
+            p.setDate(2, Date.valueOf(ym.atDay(1)));
+            p.setDate(3, Date.valueOf(ym.plusMonths(1).atDay(1)));
             try ( ResultSet r = p.executeQuery() ) {
                 if (r.next()) {
                     return r.getBigDecimal("total");
@@ -196,7 +332,82 @@ public class AttendanceService {
             }
         }
     }
-    
+
+    /** Recomputes the employee's total for the month containing {@code date}. */
+    private void refreshMonthTotal(int employeeID, java.util.Date date) throws SQLException {
+        if (!monthTotalsAvailable || date == null) return;
+        YearMonth ym = YearMonth.from(new Date(date.getTime()).toLocalDate());
+        try (Connection c = DatabaseConnection.getInstance().getConnection()) {
+            refreshMonthTotal(c, employeeID, ym);
+        }
+    }
+
+    /** Upserts one attendance_monthly_total row from attendance. */
+    private void refreshMonthTotal(Connection c, int employeeID, YearMonth ym) throws SQLException {
+        if (!monthTotalsAvailable) return;
+        try (PreparedStatement p = c.prepareStatement(UPSERT_MONTH_TOTAL)) {
+            p.setInt (1, employeeID);
+            p.setDate(2, Date.valueOf(ym.atDay(1)));
+            p.setInt (3, employeeID);
+            p.setDate(4, Date.valueOf(ym.atDay(1)));
+            p.setDate(5, Date.valueOf(ym.plusMonths(1).atDay(1)));
+            p.executeUpdate();
+        } catch (SQLSyntaxErrorException e) {
+            disableMonthTotals(e);
+        }
+    }
+
+    /** Recomputes the monthly total of every employee with attendance on {@code date}. */
+    private void refreshMonthTotalsForDate(Connection c, LocalDate date) throws SQLException {
+        if (!monthTotalsAvailable) return;
+        YearMonth ym = YearMonth.from(date);
+        try (PreparedStatement p = c.prepareStatement(UPSERT_MONTH_TOTALS_FOR_DATE)) {
+            p.setDate(1, Date.valueOf(ym.atDay(1)));
+            p.setDate(2, Date.valueOf(ym.atDay(1)));
+            p.setDate(3, Date.valueOf(ym.plusMonths(1).atDay(1)));
+            p.setDate(4, Date.valueOf(date));
+            int rows = p.executeUpdate();
+            LOG.info("Refreshed monthly totals for {} ({} rows)", ym, rows);
+        } catch (SQLSyntaxErrorException e) {
+            disableMonthTotals(e);
+        }
+    }
+
+    private void disableMonthTotals(SQLSyntaxErrorException e) {
+        monthTotalsAvailable = false;
+        LOG.warn("attendance_monthly_total unavailable (apply sql/001); summing attendance instead: {}", e.getMessage());
+    }
+
+    /**
+     * Set-based auto clock-out: closes every record of {@code date} that still has no
+     * logOut at {@code cutoff}, for all employees, in one statement. Returns the number
+     * of records closed. Run daily by the "auto-clock-out" job (see main.JobRunner).
+     */
+    public int autoClockOutAll(LocalDate date, LocalTime cutoff) throws SQLException {
+        String sql =
+          "UPDATE attendance SET "
+        + "  logOut = ?, "
+        + "  workedHours = ROUND( "
+        + "    TIMESTAMPDIFF(SECOND, logIn, ?) / 3600, 2 "
+        + "  ) "
+        + "WHERE `date` = ? AND logOut IS NULL";
+        try ( Connection c = DatabaseConnection.getInstance().getConnection();
+              PreparedStatement ps = c.prepareStatement(sql) )
+        {
+            ps.setTime(1, java.sql.Time.valueOf(cutoff));
+            ps.setTime(2, java.sql.Time.valueOf(cutoff));
+            ps.setDate(3, java.sql.Date.valueOf(date));
+            int closed = ps.executeUpdate();
+            if (closed > 0) {
+                refreshMonthTotalsForDate(c, date);
+                DirtyEmployees.shared().markEveryone(); // the statement does not say whose records it closed
+            }
+            return closed;
+        } finally {
+            QueryCache.shared().evict("attendance");
+        }
+    }
+
     /**
      * If yesterday (or any given date) has no logOut, force
      * a logOut at `cutoff` and compute workedHours accordingly.
@@ -218,7 +429,14 @@ public class AttendanceService {
             ps.setTime(2, java.sql.Time.valueOf(cutoff));
             ps.setInt (3, employeeID);
             ps.setDate(4, java.sql.Date.valueOf(date));
-            return ps.executeUpdate() > 0;
+            boolean closed = ps.executeUpdate() > 0;
+            if (closed) {
+                refreshMonthTotal(c, employeeID, YearMonth.from(date));
+                DirtyEmployees.shared().mark(employeeID);
+            }
+            return closed;
+        } finally {
+            QueryCache.shared().evict("attendance");
         }
     }
 }
\ No newline at end of file
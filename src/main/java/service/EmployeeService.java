@@ -1,8 +1,14 @@
 package service;
 
 import dao.EmployeeDAO;
+import daoimpl.CachingDAO;
 import daoimpl.EmployeeDAOImpl;
+import daoimpl.QueryCache;
+import daoimpl.ReferenceDataCache;
+import payroll.DirtyEmployees;
 import pojo.Employee;
+import util.BoundedCache;
+import util.CacheStats;
 import db.DatabaseConnection;
 
 import java.sql.Connection;
@@ -11,17 +17,60 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class EmployeeService {
 
+    // Assembled profiles (6-table join + supervisor name), shared by every page
+    private static final int  PROFILE_CACHE_SIZE   = 256;
+    private static final long PROFILE_CACHE_TTL_MS = 5 * 60_000L;
+
     private final EmployeeDAO employeeDAO;
+    private final BoundedCache<Integer, Employee> profiles =
+            new BoundedCache<>("employee-profiles", PROFILE_CACHE_SIZE, PROFILE_CACHE_TTL_MS);
 
     public EmployeeService() {
-        this.employeeDAO = new EmployeeDAOImpl();
+        this.employeeDAO = CachingDAO.wrap(EmployeeDAO.class, new EmployeeDAOImpl(),
+                List.of("employee"), List.of("employee"));
     }
 
+    /** Full profile of one employee; served from the profile cache when possible. */
     public Employee getEmployeeByID(int employeeID) {
+        Employee cached = profiles.get(employeeID);
+        if (cached != null) return new Employee(cached);
+
+        Employee loaded = loadEmployeeProfile(employeeID);
+        if (loaded != null) profiles.put(employeeID, new Employee(loaded));
+        return loaded;
+    }
+
+    /**
+     * Drops the cached profile of this employee and of everyone they supervise
+     * (whose profile carries the supervisor's name), and marks the employee's draft payslip
+     * for recomputation. Call after writing employee data outside {@link #updateEmployee} /
+     * {@link #deleteEmployee}.
+     */
+    public void invalidateEmployee(int employeeID) {
+        profiles.invalidate(employeeID);
+        profiles.invalidateIf(e -> e.getSupervisorID() == employeeID);
+        QueryCache.shared().evict("employee");
+        DirtyEmployees.shared().mark(employeeID);
+    }
+
+    public void invalidateAllEmployees() {
+        profiles.clear();
+        QueryCache.shared().evict("employee");
+        DirtyEmployees.shared().markEveryone();
+    }
+
+    public CacheStats getProfileCacheStats() {
+        return profiles.stats();
+    }
+
+    private Employee loadEmployeeProfile(int employeeID) {
         String query =
             "SELECT e.*, " +
             "       p.position, " +
@@ -109,6 +158,24 @@ public class EmployeeService {
         }
     }
 
+    /** One IN-list query (chunked) instead of a lookup per employee; keyed by employeeID. */
+    public Map<Integer, Employee> getEmployeesByIDs(Collection<Integer> employeeIDs) {
+        try {
+            return employeeDAO.getEmployeesByIDs(employeeIDs);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving employees by IDs", e);
+        }
+    }
+
+    /** One IN-list query (chunked) instead of a lookup per user; keyed by userID. */
+    public Map<String, Employee> getEmployeesByUserIDs(Collection<String> userIDs) {
+        try {
+            return employeeDAO.getEmployeesByUserIDs(userIDs);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving employees by userIDs", e);
+        }
+    }
+
     public List<Employee> getAllEmployees() {
         try {
             return employeeDAO.getAllEmployees();
@@ -117,6 +184,15 @@ public class EmployeeService {
         }
     }
 
+    /** Row-at-a-time variant of {@link #getAllEmployees()}; must be closed (try-with-resources). */
+    public Stream<Employee> streamAllEmployees() {
+        try {
+            return employeeDAO.streamAllEmployees();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming employees", e);
+        }
+    }
+
     public void addEmployee(Employee employee) {
         try {
             employeeDAO.addEmployee(employee);
@@ -128,6 +204,7 @@ public class EmployeeService {
     public void updateEmployee(Employee employee) {
         try {
             employeeDAO.updateEmployee(employee);
+            invalidateEmployee(employee.getEmployeeID());
         } catch (SQLException e) {
             throw new RuntimeException("Error updating employee", e);
         }
@@ -136,23 +213,18 @@ public class EmployeeService {
     public void deleteEmployee(int employeeID) {
         try {
             employeeDAO.deleteEmployee(employeeID);
+            invalidateEmployee(employeeID);
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting employee", e);
         }
     }
     
     public String getDepartmentName(int departmentID) {
-        String sql = "SELECT departmentName FROM department WHERE departmentID = ?";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql)) {
-          p.setInt(1, departmentID);
-          try (ResultSet r = p.executeQuery()) {
-            if (r.next()) return r.getString("departmentName");
-          }
+        try {
+            return ReferenceDataCache.getInstance().departments().name(departmentID);
         } catch (SQLException e) {
-          throw new RuntimeException("Error fetching department name", e);
+            throw new RuntimeException("Error fetching department name", e);
         }
-        return "";
     }
 
     public List<Object[]> getAllEmployeeRecords(String filterStatus) {
@@ -228,110 +300,64 @@ public class EmployeeService {
         return rows;
     }
 
+    // Lookup tables are served from ReferenceDataCache; copies keep callers free to modify them
+
     public List<Integer> getAllStatusIDs() {
-        List<Integer> ids = new ArrayList<>();
-        String sql = "SELECT statusID FROM status ORDER BY statusID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                ids.add(r.getInt("statusID"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().statuses().ids());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching status IDs", e);
         }
-        return ids;
     }
 
     public List<String> getAllStatusTypes() {
-        List<String> names = new ArrayList<>();
-        String sql = "SELECT statusType FROM status ORDER BY statusID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                names.add(r.getString("statusType"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().statuses().names());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching status types", e);
         }
-        return names;
     }
 
     public List<Integer> getAllPositionIDs() {
-        List<Integer> ids = new ArrayList<>();
-        String sql = "SELECT positionID FROM position ORDER BY positionID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                ids.add(r.getInt("positionID"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().positions().ids());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching position IDs", e);
         }
-        return ids;
     }
 
     public List<String> getAllPositionNames() {
-        List<String> names = new ArrayList<>();
-        String sql = "SELECT position FROM position ORDER BY positionID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                names.add(r.getString("position"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().positions().names());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching position names", e);
         }
-        return names;
     }
 
     // fetch all department IDs in order
     public List<Integer> getAllDepartmentIDs() {
-        List<Integer> ids = new ArrayList<>();
-        String sql = "SELECT departmentID FROM department ORDER BY departmentID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                ids.add(r.getInt("departmentID"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().departments().ids());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching department IDs", e);
         }
-        return ids;
     }
 
     // fetch all department names in the same order
     public List<String> getAllDepartmentNames() {
-        List<String> names = new ArrayList<>();
-        String sql = "SELECT departmentName FROM department ORDER BY departmentID";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql);
-             ResultSet r = p.executeQuery()) {
-            while (r.next()) {
-                names.add(r.getString("departmentName"));
-            }
+        try {
+            return new ArrayList<>(ReferenceDataCache.getInstance().departments().names());
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching department names", e);
         }
-        return names;
     }
 
     public int getDepartmentIDForPosition(int positionID) {
-        String sql = "SELECT departmentID FROM position WHERE positionID = ?";
-        try (Connection c = DatabaseConnection.getInstance().getConnection();
-             PreparedStatement p = c.prepareStatement(sql)) {
-            p.setInt(1, positionID);
-            try (ResultSet r = p.executeQuery()) {
-                if (r.next()) return r.getInt("departmentID");
-            }
+        try {
+            return ReferenceDataCache.getInstance().departmentIDForPosition(positionID);
         } catch (SQLException e) {
             throw new RuntimeException("Error fetching departmentID for position", e);
         }
-        return -1;
     }
 
 }
\ No newline at end of file
@@ -1,24 +1,40 @@
 package service;
 
 import dao.ManageableRequestDAO;
+import dao.Page;
+import dao.PageQuery;
+import daoimpl.CachingDAO;
 import daoimpl.LeaveDAOImpl;
 import pojo.Leave;
+import pojo.RequestRow;
 import util.AuditLogger;
 import util.SessionManager;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 public class LeaveService {
 
-    private ManageableRequestDAO<Leave> leaveDAO;
+    private final ManageableRequestDAO<Leave> leaveDAO;
+    private final LeaveDAOImpl lookupDAO;
+    private final AtomicLong changeCount = new AtomicLong();
 
+    @SuppressWarnings("unchecked")
     public LeaveService() {
-        try {
-            leaveDAO = new LeaveDAOImpl();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error initializing LeaveDAO", e);
-        }
+        this.lookupDAO = new LeaveDAOImpl();
+        this.leaveDAO = CachingDAO.wrap(ManageableRequestDAO.class, lookupDAO,
+                List.of("leaves", "employee", "approvalstatus", "leavetype"), List.of("leaves"));
+    }
+
+    /**
+     * Incremented by every leave write made through this service. Pages that show derived
+     * figures (e.g. the remaining allowance) compare it to decide when to reload.
+     */
+    public long getChangeCount() {
+        return changeCount.get();
     }
 
     public Leave getLeaveByID(int leaveID) {
@@ -45,9 +61,46 @@ public class LeaveService {
         }
     }
 
+    /** Leaves of one employee with status and type names already resolved (one query). */
+    public List<RequestRow<Leave>> getLeaveRowsByEmployeeID(int employeeID) {
+        try {
+            return leaveDAO.getRequestRowsByEmployeeID(employeeID);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving leave rows by employee ID", e);
+        }
+    }
+
+    /** All leaves with status, type and employee names already resolved (one query). */
+    public List<RequestRow<Leave>> getAllLeaveRows() {
+        try {
+            return leaveDAO.getAllRequestRows();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving leave rows", e);
+        }
+    }
+
+    /** Row-at-a-time variant of {@link #getAllLeaves()}; must be closed (try-with-resources). */
+    public Stream<Leave> streamAllLeaves() {
+        try {
+            return leaveDAO.streamAllRequests();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming leaves", e);
+        }
+    }
+
+    /** One newest-first page of leaves (by dateCreated); pass {@code page.nextQuery()} to continue. */
+    public Page<Leave> getLeavePage(PageQuery query) {
+        try {
+            return leaveDAO.getRequestPage(query);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving leave page", e);
+        }
+    }
+
     public void addLeave(Leave leave) {
         try {
             leaveDAO.addRequest(leave);
+            changeCount.incrementAndGet();
             // Audit: creation (userId may be null during batch runs; AuditLogger tolerates nulls safely)
             AuditLogger.log(
                     SessionManager.getUserID(),
@@ -60,9 +113,57 @@ public class LeaveService {
         }
     }
 
+    /** Bulk insert in one transaction; returns the new leave IDs in input order. */
+    public List<Integer> addLeaves(Collection<Leave> leaves) {
+        try {
+            List<Integer> ids = leaveDAO.addRequestBatch(leaves);
+            changeCount.incrementAndGet();
+            AuditLogger.log(
+                    SessionManager.getUserID(),
+                    "LEAVE_CREATED",
+                    "count=" + ids.size() + ", leaveIDs=" + ids,
+                    null
+            );
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adding leave requests", e);
+        }
+    }
+
+    /** Mass approval/rejection in one transaction; returns the number of leaves updated. */
+    public int updateApprovalStatus(Collection<Integer> leaveIDs, int approvalStatusID) {
+        try {
+            int updated = leaveDAO.updateApprovalStatusBatch(leaveIDs, approvalStatusID);
+            changeCount.incrementAndGet();
+
+            String statusName;
+            try {
+                statusName = getApprovalStatusName(approvalStatusID);
+            } catch (RuntimeException ex) {
+                statusName = String.valueOf(approvalStatusID);
+            }
+
+            final String action =
+                    ("Approved".equalsIgnoreCase(statusName)) ? "LEAVE_APPROVED" :
+                    (("Rejected".equalsIgnoreCase(statusName) || "Declined".equalsIgnoreCase(statusName)) ? "LEAVE_REJECTED"
+                                                                                                        : "LEAVE_STATUS_UPDATED");
+
+            AuditLogger.log(
+                    SessionManager.getUserID(),
+                    action,
+                    "leaveIDs=" + leaveIDs + ", status=" + approvalStatusID + "(" + statusName + ")",
+                    null
+            );
+            return updated;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating approval status of leaves", e);
+        }
+    }
+
     public void updateApprovalStatus(int leaveID, int approvalStatusID) {
         try {
             leaveDAO.updateApprovalStatus(leaveID, approvalStatusID);
+            changeCount.incrementAndGet();
 
             // Resolve a human label when possible (does not affect audit if DB lookup fails)
             String statusName;
@@ -91,6 +192,7 @@ public class LeaveService {
     public void deleteLeave(int leaveID) {
         try {
             leaveDAO.deleteRequest(leaveID);
+            changeCount.incrementAndGet();
             AuditLogger.log(
                     SessionManager.getUserID(),
                     "LEAVE_DELETED",
@@ -104,7 +206,7 @@ public class LeaveService {
 
     public String getApprovalStatusName(int approvalStatusID) {
         try {
-            return ((LeaveDAOImpl) leaveDAO).getApprovalStatusName(approvalStatusID);
+            return lookupDAO.getApprovalStatusName(approvalStatusID);
         } catch (SQLException e) {
             throw new RuntimeException("Error getting approval status", e);
         }
@@ -112,7 +214,7 @@ public class LeaveService {
 
     public String getLeaveTypeName(int leaveTypeID) {
         try {
-            return ((LeaveDAOImpl) leaveDAO).getLeaveTypeName(leaveTypeID);
+            return lookupDAO.getLeaveTypeName(leaveTypeID);
         } catch (SQLException e) {
             throw new RuntimeException("Error getting leave type", e);
         }
@@ -121,6 +223,7 @@ public class LeaveService {
     public void updateLeave(Leave leave) {
         try {
             leaveDAO.updateRequest(leave);
+            changeCount.incrementAndGet();
             AuditLogger.log(
                     SessionManager.getUserID(),
                     "LEAVE_UPDATED",
@@ -1,24 +1,29 @@
 package service;
 
 import dao.ManageableRequestDAO;
+import dao.Page;
+import dao.PageQuery;
+import daoimpl.CachingDAO;
 import daoimpl.OvertimeDAOImpl;
+import payroll.DirtyEmployees;
 import pojo.Overtime;
+import pojo.RequestRow;
 import util.AuditLogger;
 import util.SessionManager;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class OvertimeService {
 
-    private ManageableRequestDAO<Overtime> overtimeDAO;
+    private final ManageableRequestDAO<Overtime> overtimeDAO;
 
+    @SuppressWarnings("unchecked")
     public OvertimeService() {
-        try {
-            overtimeDAO = new OvertimeDAOImpl();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error initializing OvertimeDAO", e);
-        }
+        this.overtimeDAO = CachingDAO.wrap(ManageableRequestDAO.class, new OvertimeDAOImpl(),
+                List.of("overtime", "employee", "approvalstatus"), List.of("overtime"));
     }
 
     public Overtime getOvertimeByID(int overtimeID) {
@@ -45,6 +50,42 @@ public class OvertimeService {
         }
     }
 
+    /** Overtime of one employee with the status name already resolved (one query). */
+    public List<RequestRow<Overtime>> getOvertimeRowsByEmployeeID(int employeeID) {
+        try {
+            return overtimeDAO.getRequestRowsByEmployeeID(employeeID);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving overtime rows by employee ID", e);
+        }
+    }
+
+    /** All overtime with status and employee names already resolved (one query). */
+    public List<RequestRow<Overtime>> getAllOvertimeRows() {
+        try {
+            return overtimeDAO.getAllRequestRows();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving overtime rows", e);
+        }
+    }
+
+    /** Row-at-a-time variant of {@link #getAllOvertimes()}; must be closed (try-with-resources). */
+    public Stream<Overtime> streamAllOvertimes() {
+        try {
+            return overtimeDAO.streamAllRequests();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming overtimes", e);
+        }
+    }
+
+    /** One newest-first page of overtime (by overtimeStart); pass {@code page.nextQuery()} to continue. */
+    public Page<Overtime> getOvertimePage(PageQuery query) {
+        try {
+            return overtimeDAO.getRequestPage(query);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving overtime page", e);
+        }
+    }
+
     public void addOvertime(Overtime overtime) {
         try {
             overtimeDAO.addRequest(overtime);
@@ -60,9 +101,51 @@ public class OvertimeService {
         }
     }
 
+    /** Bulk insert in one transaction; returns the new overtime IDs in input order. */
+    public List<Integer> addOvertimes(Collection<Overtime> overtimes) {
+        try {
+            List<Integer> ids = overtimeDAO.addRequestBatch(overtimes);
+            AuditLogger.log(
+                    SessionManager.getUserID(),
+                    "OT_CREATED",
+                    "count=" + ids.size() + ", overtimeIDs=" + ids,
+                    null
+            );
+            return ids;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error adding overtime requests", e);
+        }
+    }
+
+    /** Mass approval/rejection in one transaction; returns the number of requests updated. */
+    public int updateApprovalStatus(Collection<Integer> overtimeIDs, int approvalStatusID) {
+        try {
+            List<Integer> owners = ownersOf(overtimeIDs);
+            int updated = overtimeDAO.updateApprovalStatusBatch(overtimeIDs, approvalStatusID);
+            DirtyEmployees.shared().markAll(owners);
+
+            final String action =
+                    (approvalStatusID == 1) ? "OT_APPROVED" :
+                    (approvalStatusID == 2) ? "OT_REJECTED" :
+                    "OT_STATUS_UPDATED";
+
+            AuditLogger.log(
+                    SessionManager.getUserID(),
+                    action,
+                    "overtimeIDs=" + overtimeIDs + ", status=" + approvalStatusID,
+                    null
+            );
+            return updated;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error updating approval status of overtimes", e);
+        }
+    }
+
     public void updateApprovalStatus(int overtimeID, int approvalStatusID) {
         try {
+            List<Integer> owners = ownersOf(List.of(overtimeID));
             overtimeDAO.updateApprovalStatus(overtimeID, approvalStatusID);
+            DirtyEmployees.shared().markAll(owners);
 
             // We don’t have a name resolver here; keep numeric mapping
             final String action =
@@ -83,7 +166,9 @@ public class OvertimeService {
 
     public void deleteOvertime(int overtimeID) {
         try {
+            List<Integer> owners = ownersOf(List.of(overtimeID));
             overtimeDAO.deleteRequest(overtimeID);
+            DirtyEmployees.shared().markAll(owners);
             AuditLogger.log(
                     SessionManager.getUserID(),
                     "OT_DELETED",
@@ -98,6 +183,7 @@ public class OvertimeService {
     public void updateOvertime(Overtime overtime) {
         try {
             overtimeDAO.updateRequest(overtime);
+            DirtyEmployees.shared().mark(overtime.getEmployeeID());
             AuditLogger.log(
                     SessionManager.getUserID(),
                     "OT_UPDATED",
@@ -108,4 +194,9 @@ public class OvertimeService {
             throw new RuntimeException("Error updating overtime request", e);
         }
     }
-}
\ No newline at end of file
+
+    // Employees whose approved overtime (and so payslip) a write to these requests can change
+    private List<Integer> ownersOf(Collection<Integer> overtimeIDs) throws SQLException {
+        return overtimeDAO.getEmployeeIDsByRequestIDs(overtimeIDs);
+    }
+}
@@ -1,22 +1,91 @@
 package service;
 
+import dao.PayrollRunDAO;
 import dao.PayslipDAO;
+import daoimpl.CachingDAO;
+import daoimpl.PayrollRunDAOImpl;
 import daoimpl.PayslipDAOImpl;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import payroll.DirtyEmployees;
+import payroll.DraftPayslipSet;
+import payroll.PayrollBatchRun;
 import pojo.Payslip;
+import util.BoundedCache;
 
+import java.sql.Date;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLSyntaxErrorException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Payslips from two sources:
+ *
+ * - Closed periods (see {@link #closePeriod}) are read from the {@code payslip} table by
+ *   key and cached without expiry, since a closed month never changes. Callers get
+ *   copies, so nothing they do can alter the cached rows.
+ * - Periods after the last closed one are still open and come from v_motorph_payslip.
+ *
+ * Every read splits its date range at the last closed period end, so no payslip is
+ * returned twice. Without the sql/003 tables everything is read from the view.
+ *
+ * The current month is served from a {@link DraftPayslipSet}: after the first load only
+ * employees marked in {@link DirtyEmployees} (by attendance, overtime approval and
+ * employee writes) are re-read from the view, plus a full reload every few minutes
+ * (-Dpayroll.draft.fullReloadMs / PAYROLL_DRAFT_FULL_RELOAD_MS, default 5 min).
+ */
 public class PayslipService {
 
+    private static final Logger LOG = LogManager.getLogger(PayslipService.class);
+
+    private static final int  CLOSED_CACHE_SIZE    = 512;
+    private static final long CLOSED_CACHE_TTL_MS  = Long.MAX_VALUE;   // closed data is immutable
+    private static final long WATERMARK_RELOAD_MS  = 60_000L;          // picks up closes by other clients
+    private static final Date BEGINNING            = Date.valueOf("1900-01-01");
+    private static final long DRAFT_FULL_RELOAD_MS = 5 * 60_000L;
+
     private final PayslipDAO payslipDAO;
+    private final PayslipDAO viewDAO;          // uncached, for the draft set and period runs
+    private final PayrollRunDAO runDAO;
+
+    private final BoundedCache<String, List<Payslip>> closedPayslips =
+            new BoundedCache<>("closed-payslips", CLOSED_CACHE_SIZE, CLOSED_CACHE_TTL_MS);
+
+    private final DraftPayslipSet draft = new DraftPayslipSet(this::loadViewRows, DirtyEmployees.shared(),
+            Clock.systemDefaultZone(),
+            configured("payroll.draft.fullReloadMs", "PAYROLL_DRAFT_FULL_RELOAD_MS", DRAFT_FULL_RELOAD_MS));
+
+    private volatile boolean storedAvailable = true;
+    private volatile LocalDate closedThrough;  // last closed period end; null = nothing closed
+    private volatile long closedThroughLoadedAt = 0;
 
     public PayslipService() {
-        this.payslipDAO = new PayslipDAOImpl();
+        // v_motorph_payslip is computed from these tables; read-only, so nothing to evict
+        this.viewDAO = new PayslipDAOImpl();
+        this.payslipDAO = CachingDAO.wrap(PayslipDAO.class, viewDAO,
+                List.of("employee", "attendance", "overtime", "compensation", "position", "department"),
+                List.of());
+        this.runDAO = new PayrollRunDAOImpl();
     }
 
     public Payslip getPayslipByPayslipNo(String payslipNo) {
         try {
+            if (getClosedThrough() != null) {
+                List<Payslip> stored = closedPayslips.get("no:" + payslipNo);
+                if (stored != null) return new Payslip(stored.get(0));
+                Payslip p = runDAO.getStoredPayslip(payslipNo);
+                if (p != null) {
+                    closedPayslips.put("no:" + payslipNo, List.of(p));
+                    return new Payslip(p);
+                }
+            }
             return payslipDAO.getPayslipByPayslipNo(payslipNo);
         } catch (SQLException e) {
             throw new RuntimeException("Error retrieving payslip by payslipNo", e);
@@ -25,7 +94,14 @@ public class PayslipService {
 
     public List<Payslip> getPayslipsByEmployeeID(int employeeID) {
         try {
-            return payslipDAO.getPayslipsByEmployeeID(employeeID);
+            LocalDate through = getClosedThrough();
+            if (through == null) return payslipDAO.getPayslipsByEmployeeID(employeeID);
+
+            List<Payslip> payslips = new ArrayList<>(
+                    payslipDAO.getPayslipsByEmployeeID(employeeID, Date.valueOf(through.plusDays(1))));
+            payslips.addAll(closed("employee:" + employeeID + "@" + through,
+                    () -> runDAO.getStoredPayslipsByEmployeeID(employeeID, Date.valueOf(through))));
+            return payslips;
         } catch (SQLException e) {
             throw new RuntimeException("Error retrieving payslips by employeeID", e);
         }
@@ -33,9 +109,208 @@ public class PayslipService {
 
     public List<Payslip> getAllPayslips() {
         try {
-            return payslipDAO.getAllPayslips();
+            LocalDate through = getClosedThrough();
+            if (through == null) return payslipDAO.getAllPayslips();
+
+            Date split = Date.valueOf(through.plusDays(1));
+            List<Payslip> payslips = new ArrayList<>(
+                    payslipDAO.getPayslipsByPeriodEnd(split, Date.valueOf("9999-12-31")));
+            payslips.addAll(closed("range:" + BEGINNING + ".." + split,
+                    () -> runDAO.getStoredPayslipsByPeriodEnd(BEGINNING, split)));
+            return payslips;
         } catch (SQLException e) {
             throw new RuntimeException("Error retrieving all payslips", e);
         }
     }
-}
\ No newline at end of file
+
+    /** Payslips for pay periods ending in the given month; the current month comes from the draft set. */
+    public List<Payslip> getPayslipsForMonth(YearMonth month) {
+        if (month.equals(draft.getMonth()) && !isPeriodClosed(month)) return getDraftPayslips();
+        LocalDate first = month.atDay(1);
+        return getPayslipsByPeriodEnd(Date.valueOf(first), Date.valueOf(first.plusMonths(1)));
+    }
+
+    /** Payslips for pay periods ending in [from, to). */
+    public List<Payslip> getPayslipsByPeriodEnd(Date from, Date to) {
+        try {
+            LocalDate through = getClosedThrough();
+            Date split = through != null ? Date.valueOf(through.plusDays(1)) : from;
+            List<Payslip> payslips = new ArrayList<>();
+            if (to.after(split)) {
+                payslips.addAll(payslipDAO.getPayslipsByPeriodEnd(max(from, split), to));
+            }
+            if (from.before(split)) {
+                Date storedTo = min(to, split);
+                payslips.addAll(closed("range:" + from + ".." + storedTo,
+                        () -> runDAO.getStoredPayslipsByPeriodEnd(from, storedTo)));
+            }
+            return payslips;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error retrieving payslips by period", e);
+        }
+    }
+
+    /** Row-at-a-time variant of {@link #getAllPayslips()}; must be closed (try-with-resources). */
+    public Stream<Payslip> streamAllPayslips() {
+        try {
+            LocalDate through = getClosedThrough();
+            if (through == null) return payslipDAO.streamAllPayslips();
+
+            Date split = Date.valueOf(through.plusDays(1));
+            List<Payslip> stored = closed("range:" + BEGINNING + ".." + split,
+                    () -> runDAO.getStoredPayslipsByPeriodEnd(BEGINNING, split));
+            return Stream.concat(payslipDAO.streamPayslipsFrom(split), stored.stream());
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming payslips", e);
+        }
+    }
+
+    // ---- draft period ----
+
+    /** Current month's payslips, re-reading only employees changed since the last call. */
+    public List<Payslip> getDraftPayslips() {
+        try {
+            return draft.getPayslips();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error refreshing draft payslips", e);
+        }
+    }
+
+    /** Applies pending changes to the draft set now and reports which employees were re-read. */
+    public DraftPayslipSet.Refresh refreshDraft() {
+        try {
+            return draft.refresh();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error refreshing draft payslips", e);
+        }
+    }
+
+    /** Report of the latest draft refresh, or null if the draft was never loaded. */
+    public DraftPayslipSet.Refresh getLastDraftRefresh() {
+        return draft.getLastRefresh();
+    }
+
+    // ---- payroll runs ----
+
+    /**
+     * Closes the month: stores its view rows in the payslip table and records the period,
+     * as a resumable chunked run (see {@link PayrollBatchRun}). Months must be closed in
+     * order; a closed month is never recomputed again. Calling it again after a failure
+     * continues from the last stored chunk.
+     *
+     * @throws IllegalStateException if the month is already closed or being closed by
+     *         someone else, an earlier month with payslips is still open, it has no
+     *         payslips, or the sql/003-004 tables are missing
+     */
+    public PayrollBatchRun.Report closePeriod(YearMonth month, String closedBy) {
+        Date first = Date.valueOf(month.atDay(1));
+        Date next  = Date.valueOf(month.atDay(1).plusMonths(1));
+        try {
+            if (runDAO.isPeriodClosed(first)) {
+                throw new IllegalStateException("Payroll period " + month + " is already closed");
+            }
+            LocalDate through = loadClosedThrough();
+            if (through != null && !month.atDay(1).isAfter(through)) {
+                throw new IllegalStateException("Payroll period " + month + " is before the last closed period");
+            }
+            Date openFrom = through != null ? Date.valueOf(through.plusDays(1)) : BEGINNING;
+            if (openFrom.before(first) && viewDAO.getPayrollSummary(openFrom, first).getPayslipCount() > 0) {
+                throw new IllegalStateException("Close the payroll periods before " + month + " first");
+            }
+            if (viewDAO.getPayrollSummary(first, next).getPayslipCount() == 0) {
+                throw new IllegalStateException("No payslips to close for " + month);
+            }
+
+            PayrollBatchRun run = new PayrollBatchRun(runDAO, this::loadViewRows,
+                    (int) configured("payroll.run.chunkSize", "PAYROLL_RUN_CHUNK_SIZE", PayrollBatchRun.DEFAULT_CHUNK_SIZE),
+                    (int) configured("payroll.run.parallelism", "PAYROLL_RUN_PARALLELISM", PayrollBatchRun.DEFAULT_PARALLELISM));
+            PayrollBatchRun.Report report = run.run(month, closedBy);
+
+            closedThrough = month.atEndOfMonth();
+            closedThroughLoadedAt = System.currentTimeMillis();
+            return report;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            throw new IllegalStateException("Payroll period " + month + " was closed concurrently", e);
+        } catch (SQLSyntaxErrorException e) {
+            disableStored(e);
+            throw new IllegalStateException("Payroll run tables are missing; apply sql/003 and sql/004", e);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error closing payroll period", e);
+        }
+    }
+
+    public boolean isPeriodClosed(YearMonth month) {
+        LocalDate through = getClosedThrough();
+        return through != null && !month.atEndOfMonth().isAfter(through);
+    }
+
+    /** End of the last closed period, or null when nothing is closed (re-read every minute). */
+    public LocalDate getClosedThrough() {
+        if (!storedAvailable) return null;
+        if (System.currentTimeMillis() - closedThroughLoadedAt > WATERMARK_RELOAD_MS) {
+            try {
+                closedThrough = loadClosedThrough();
+                closedThroughLoadedAt = System.currentTimeMillis();
+            } catch (SQLSyntaxErrorException e) {
+                disableStored(e);
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException("Error reading closed payroll periods", e);
+            }
+        }
+        return closedThrough;
+    }
+
+    // ---- internals ----
+
+    @FunctionalInterface
+    private interface StoredQuery {
+        List<Payslip> load() throws SQLException;
+    }
+
+    /** Cached closed-period rows for this key, as fresh copies the caller may modify. */
+    private List<Payslip> closed(String key, StoredQuery query) throws SQLException {
+        List<Payslip> cached = closedPayslips.get(key);
+        if (cached == null) {
+            cached = List.copyOf(query.load());
+            closedPayslips.put(key, cached);
+        }
+        List<Payslip> copies = new ArrayList<>(cached.size());
+        for (Payslip p : cached) copies.add(new Payslip(p));
+        return copies;
+    }
+
+    private List<Payslip> loadViewRows(YearMonth month, Collection<Integer> employeeIDs) throws SQLException {
+        Date first = Date.valueOf(month.atDay(1));
+        Date next  = Date.valueOf(month.atDay(1).plusMonths(1));
+        return employeeIDs == null
+                ? viewDAO.getPayslipsByPeriodEnd(first, next)
+                : viewDAO.getPayslipsByEmployeeIDs(employeeIDs, first, next);
+    }
+
+    private LocalDate loadClosedThrough() throws SQLException {
+        Date end = runDAO.getLatestClosedPeriodEnd();
+        return end != null ? end.toLocalDate() : null;
+    }
+
+    private void disableStored(SQLSyntaxErrorException e) {
+        if (storedAvailable) {
+            storedAvailable = false;
+            LOG.warn("Payroll run tables unavailable ({}); reading every period from the view. Apply sql/003.",
+                    e.getMessage());
+        }
+    }
+
+    private static long configured(String prop, String env, long def) {
+        String v = System.getProperty(prop);
+        if (v == null) v = System.getenv(env);
+        try {
+            return v != null ? Long.parseLong(v.trim()) : def;
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    private static Date max(Date a, Date b) { return a.after(b) ? a : b; }
+    private static Date min(Date a, Date b) { return a.before(b) ? a : b; }
+}
@@ -0,0 +1,30 @@
+package service;
+
+/**
+ * Application-wide service instances.
+ *
+ * Each service is created once, on first use, and shared by every page, so navigating
+ * between screens no longer allocates a fresh service + DAO graph each time.
+ * Services (and the DAOs behind them) are stateless and safe to share across threads.
+ */
+public final class ServiceRegistry {
+
+    private ServiceRegistry() { }
+
+    // Lazy holders: the JVM initializes each one on first access, thread-safely.
+    private static final class AttendanceHolder { static final AttendanceService INSTANCE = new AttendanceService(); }
+    private static final class EmployeeHolder   { static final EmployeeService   INSTANCE = new EmployeeService(); }
+    private static final class LeaveHolder      { static final LeaveService      INSTANCE = new LeaveService(); }
+    private static final class LoginHolder      { static final LoginService      INSTANCE = new LoginService(); }
+    private static final class OvertimeHolder   { static final OvertimeService   INSTANCE = new OvertimeService(); }
+    private static final class PayslipHolder    { static final PayslipService    INSTANCE = new PayslipService(); }
+    private static final class UserHolder       { static final UserService       INSTANCE = new UserService(); }
+
+    public static AttendanceService getAttendanceService() { return AttendanceHolder.INSTANCE; }
+    public static EmployeeService   getEmployeeService()   { return EmployeeHolder.INSTANCE; }
+    public static LeaveService      getLeaveService()      { return LeaveHolder.INSTANCE; }
+    public static LoginService      getLoginService()      { return LoginHolder.INSTANCE; }
+    public static OvertimeService   getOvertimeService()   { return OvertimeHolder.INSTANCE; }
+    public static PayslipService    getPayslipService()    { return PayslipHolder.INSTANCE; }
+    public static UserService       getUserService()       { return UserHolder.INSTANCE; }
+}
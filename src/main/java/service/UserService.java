@@ -12,10 +12,10 @@ import java.util.List;
 
 public class UserService {
 
-    private UserDAO userDAO;
+    private final UserDAO userDAO;
 
     public UserService() {
-        userDAO = new UserDAOImpl();
+        this.userDAO = new UserDAOImpl();
     }
 
     public User getUserByUserID(String userID) {
@@ -75,7 +75,7 @@ public class UserService {
             if (e instanceof SQLNonTransientConnectionException
                 || e.getMessage().toLowerCase().contains("connection is closed")) {
                 try {
-                    userDAO = new UserDAOImpl();
+                    // DAO is stateless; the retry simply borrows a fresh pooled connection
                     userDAO.updateUser(user);
                     AuditLogger.log(user.getUserID(), "USER_UPDATED", "retry after reconnect", null);
                     return;
@@ -23,6 +23,10 @@ public class PageFinancePayroll extends ui.base.AbstractPayrollPage {
         printPayrollButton.addActionListener(e -> {
             printPayrollReport(this);
         });
+
+        closePeriodButton.addActionListener(e -> {
+            closeSelectedPeriod(this);
+        });
     }
 
     /**
@@ -44,6 +48,7 @@ public class PageFinancePayroll extends ui.base.AbstractPayrollPage {
         totalGrossField = new javax.swing.JTextField();
         backButton = new util.LightButton();
         printPayrollButton = new util.LightButton();
+        closePeriodButton = new util.LightButton();
         JDateChooser = new com.toedter.calendar.JDateChooser();
         jScrollPane1 = new javax.swing.JScrollPane();
         payrollTable = new javax.swing.JTable();
@@ -127,6 +132,10 @@ public class PageFinancePayroll extends ui.base.AbstractPayrollPage {
         });
         getContentPane().add(printPayrollButton, new org.netbeans.lib.awtextra.AbsoluteConstraints(560, 80, 160, -1));
 
+        closePeriodButton.setForeground(new java.awt.Color(0, 102, 102));
+        closePeriodButton.setText("Close Period");
+        getContentPane().add(closePeriodButton, new org.netbeans.lib.awtextra.AbsoluteConstraints(390, 80, 160, -1));
+
         JDateChooser.setForeground(new java.awt.Color(0, 102, 102));
         JDateChooser.setFont(new java.awt.Font("Inter", 0, 12)); // NOI18N
         getContentPane().add(JDateChooser, new org.netbeans.lib.awtextra.AbsoluteConstraints(860, 80, 130, 30));
@@ -217,6 +226,7 @@ public class PageFinancePayroll extends ui.base.AbstractPayrollPage {
     // Variables declaration - do not modify//GEN-BEGIN:variables
     public com.toedter.calendar.JDateChooser JDateChooser;
     public util.LightButton backButton;
+    public util.LightButton closePeriodButton;
     private javax.swing.JLabel background;
     public javax.swing.JScrollPane jScrollPane1;
     private javax.swing.JLabel label;
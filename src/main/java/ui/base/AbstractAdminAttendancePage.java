@@ -3,6 +3,7 @@ package ui.base;
 import com.toedter.calendar.JDateChooser;
 import pojo.Attendance;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.AttendanceService;
 import service.EmployeeService;
 
@@ -13,17 +14,18 @@ import java.awt.*;
 import java.io.File;
 import java.sql.Date;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.*;
 import java.util.List;
 
-public abstract class AbstractAdminAttendancePage extends JFrame {
+public abstract class AbstractAdminAttendancePage extends AbstractPage {
     protected JTable attendanceTable;
     protected JDateChooser dateChooser;
     protected JComboBox<String> employeeIDComboBox;
     protected JButton printAttendanceButton;
 
-    protected AttendanceService attendanceService = new AttendanceService();
-    protected EmployeeService employeeService = new EmployeeService();
+    protected AttendanceService attendanceService = ServiceRegistry.getAttendanceService();
+    protected EmployeeService employeeService = ServiceRegistry.getEmployeeService();
 
     protected String jasperTemplatePath = "/reports/AttendanceAdminReport.jrxml";
 
@@ -37,10 +39,7 @@ public abstract class AbstractAdminAttendancePage extends JFrame {
         this.printAttendanceButton = printAttendanceButton;
 
         // Fill combo with all employeeIDs that have attendance
-        Set<Integer> employeeIDsWithAttendance = new TreeSet<>();
-        for (Attendance att : attendanceService.getAllAttendance()) {
-            employeeIDsWithAttendance.add(att.getEmployeeID());
-        }
+        List<Integer> employeeIDsWithAttendance = attendanceService.getEmployeeIDsWithAttendance();
         employeeIDComboBox.removeAllItems();
         employeeIDComboBox.addItem(""); // blank = all
         for (Integer empID : employeeIDsWithAttendance) {
@@ -64,35 +63,25 @@ public abstract class AbstractAdminAttendancePage extends JFrame {
 
     protected void updateAdminAttendanceTable() {
         String empIDStr = (String) employeeIDComboBox.getSelectedItem();
-        Date chosenDate = (dateChooser.getDate() != null) ? new Date(dateChooser.getDate().getTime()) : null;
-        List<Attendance> records = attendanceService.getAllAttendance();
-
-        // Filter by employeeID if set
-        if (empIDStr != null && !empIDStr.isBlank()) {
-            int empID = Integer.parseInt(empIDStr);
-            records.removeIf(a -> a.getEmployeeID() != empID);
-        }
+        Integer empID = (empIDStr != null && !empIDStr.isBlank()) ? Integer.valueOf(empIDStr) : null;
+        LocalDate chosenDate = (dateChooser.getDate() != null)
+                ? new Date(dateChooser.getDate().getTime()).toLocalDate() : null;
 
         if (chosenDate != null) {
-            Calendar filterCal = Calendar.getInstance();
-            filterCal.setTime(chosenDate);
-            int year = filterCal.get(Calendar.YEAR);
-            int month = filterCal.get(Calendar.MONTH) + 1;
-            int day = filterCal.get(Calendar.DAY_OF_MONTH);
+            // Only the chosen month is fetched; the DB does the employee/date filtering
+            LocalDate monthStart = chosenDate.withDayOfMonth(1);
+            List<Attendance> monthRows = attendanceService.getAttendanceInRange(
+                    empID, Date.valueOf(monthStart), Date.valueOf(monthStart.plusMonths(1)));
 
-            boolean filterToDay = (empIDStr != null && !empIDStr.isBlank());
+            boolean filterToDay = (empID != null);
 
             List<Attendance> filtered = new ArrayList<>();
             Attendance pickedDay = null;
-            for (Attendance a : records) {
-                Calendar aCal = Calendar.getInstance();
-                aCal.setTime(a.getDate());
-                if (aCal.get(Calendar.YEAR) == year && aCal.get(Calendar.MONTH) + 1 == month) {
-                    if (filterToDay && aCal.get(Calendar.DAY_OF_MONTH) == day) {
-                        pickedDay = a;
-                    } else {
-                        filtered.add(a);
-                    }
+            for (Attendance a : monthRows) {
+                if (filterToDay && a.getDate().toLocalDate().equals(chosenDate)) {
+                    pickedDay = a;
+                } else {
+                    filtered.add(a);
                 }
             }
             List<Attendance> displayList = new ArrayList<>();
@@ -102,6 +91,9 @@ public abstract class AbstractAdminAttendancePage extends JFrame {
             return;
         }
 
+        List<Attendance> records = (empID != null)
+                ? attendanceService.getAttendanceByEmployeeID(empID)
+                : attendanceService.getAllAttendance();
         records.sort(Comparator.comparing(Attendance::getDate).thenComparing(Attendance::getEmployeeID));
         setAdminAttendanceTableModel(records);
     }
@@ -149,10 +141,15 @@ public abstract class AbstractAdminAttendancePage extends JFrame {
             }
             // Prepare dataList with exactly the rows in the table
             List<Map<String, ?>> dataList = new ArrayList<>();
-            Map<Integer, Employee> empCache = new HashMap<>();
+            Set<Integer> shownIDs = new LinkedHashSet<>();
+            for (int i = 0; i < model.getRowCount(); i++) {
+                shownIDs.add(Integer.parseInt(model.getValueAt(i, 0).toString()));
+            }
+            // Names only: one plain IN-list lookup instead of the full profile join per employee
+            Map<Integer, Employee> empCache = employeeService.getEmployeesByIDs(shownIDs);
             for (int i = 0; i < model.getRowCount(); i++) {
                 int empID = Integer.parseInt(model.getValueAt(i, 0).toString());
-                Employee emp = empCache.computeIfAbsent(empID, employeeService::getEmployeeByID);
+                Employee emp = empCache.get(empID);
                 String empName = emp != null ? emp.getLastName() + ", " + emp.getFirstName() : "";
                 Map<String, Object> row = new HashMap<>();
                 row.put("employeeID", empID);
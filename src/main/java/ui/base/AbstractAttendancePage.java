@@ -3,6 +3,7 @@ package ui.base;
 import com.toedter.calendar.JDateChooser;
 import pojo.Attendance;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.AttendanceService;
 import service.EmployeeService;
 import util.SessionManager;
@@ -18,14 +19,14 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.List;
 
-public abstract class AbstractAttendancePage extends JFrame {
+public abstract class AbstractAttendancePage extends AbstractPage {
     protected JTable attendanceTable;
     protected JDateChooser dateChooser;
     protected JTextField totalWorkedHoursField;
     protected JButton printAttendanceButton;
 
-    protected AttendanceService attendanceService = new AttendanceService();
-    protected EmployeeService employeeService = new EmployeeService();
+    protected AttendanceService attendanceService = ServiceRegistry.getAttendanceService();
+    protected EmployeeService employeeService = ServiceRegistry.getEmployeeService();
 
     // -- For use by the extending page
     protected int employeeID;
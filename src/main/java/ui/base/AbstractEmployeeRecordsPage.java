@@ -2,6 +2,7 @@ package ui.base;
 
 import util.LightButton;
 import util.SessionManager;
+import service.ServiceRegistry;
 import service.EmployeeService;
 import service.UserService;
 
@@ -20,9 +21,9 @@ import java.util.List;
  * - Safe action dialogs for Update, Deactivate, or Delete
  * - DRY, modular, and keeps all existing integrations
  */
-public abstract class AbstractEmployeeRecordsPage extends JFrame {
-    private final EmployeeService employeeService = new EmployeeService();
-    private final UserService userService = new UserService();
+public abstract class AbstractEmployeeRecordsPage extends AbstractPage {
+    private final EmployeeService employeeService = ServiceRegistry.getEmployeeService();
+    private final UserService userService = ServiceRegistry.getUserService();
 
     /**
      * One-time call in constructor. Wires up:
@@ -239,7 +240,7 @@ public abstract class AbstractEmployeeRecordsPage extends JFrame {
     // Reloads table for current status filter ("All", "Active", etc.)
     // Called for normal filter operations
     private void reloadTableAsync(JTable table, String filterStatus) {
-        new SwingWorker<List<Object[]>, Void>() {
+        ownWorker(new SwingWorker<List<Object[]>, Void>() {
             @Override protected List<Object[]> doInBackground() {
                 return employeeService.getAllEmployeeRecords(filterStatus);
             }
@@ -254,13 +255,13 @@ public abstract class AbstractEmployeeRecordsPage extends JFrame {
                     ex.printStackTrace();
                 }
             }
-        }.execute();
+        }).execute();
     }
 
     // Reloads table for a single employee (by ID)
     // Used when filtering by employeeID
     private void reloadTableForEmployee(JTable table, int employeeID) {
-        new SwingWorker<List<Object[]>, Void>() {
+        ownWorker(new SwingWorker<List<Object[]>, Void>() {
             @Override protected List<Object[]> doInBackground() {
                 pojo.Employee emp = employeeService.getEmployeeByID(employeeID);
                 if (emp == null) return java.util.Collections.emptyList();
@@ -282,7 +283,7 @@ public abstract class AbstractEmployeeRecordsPage extends JFrame {
                     ex.printStackTrace();
                 }
             }
-        }.execute();
+        }).execute();
     }
 
     // Utility: auto-resize columns to fit contents
@@ -1,6 +1,7 @@
 package ui.base;
 
 import com.toedter.calendar.JDateChooser;
+import service.ServiceRegistry;
 import service.EmployeeService;
 import service.UserService;
 import util.LightButton;
@@ -21,7 +22,7 @@ import java.util.*;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public abstract class AbstractEmployeeRegisterPage extends JFrame {
+public abstract class AbstractEmployeeRegisterPage extends AbstractPage {
   // UI components (protected for subclass access)
   protected JTextField lastNameField, firstNameField;
   protected JDateChooser dobCal;  // Changed from JCalendar to JDateChooser
@@ -40,8 +41,8 @@ public abstract class AbstractEmployeeRegisterPage extends JFrame {
     "Employee", "HR", "IT", "Finance", "Manager"
   };
 
-  private final EmployeeService empSvc = new EmployeeService();
-  private final UserService     usrSvc = new UserService();
+  private final EmployeeService empSvc = ServiceRegistry.getEmployeeService();
+  private final UserService     usrSvc = ServiceRegistry.getUserService();
   private final List<JTextField> allFields = new ArrayList<>();
   private boolean dirty = false;
 
@@ -352,6 +353,7 @@ public abstract class AbstractEmployeeRegisterPage extends JFrame {
       }
 
       c.commit();
+      empSvc.invalidateEmployee(nextEmpId); // never serve a profile cached under this ID before the commit
       JOptionPane.showMessageDialog(this, "Employee created successfully!");
       onRegisterSuccess(); // Let subclass handle navigation after successful register
     }
@@ -1,6 +1,7 @@
 package ui.base;
 
 import com.toedter.calendar.JDateChooser;
+import service.ServiceRegistry;
 import service.EmployeeService;
 import util.LightButton;
 import util.BlueButton;
@@ -18,7 +19,7 @@ import java.util.List;
 import java.util.Date;
 
 public abstract class AbstractEmployeeUpdatePage extends AbstractEmployeeRegisterPage {
-    protected final EmployeeService empSvc = new EmployeeService();
+    protected final EmployeeService empSvc = ServiceRegistry.getEmployeeService();
 
     protected final int selectedEmployeeID = SessionManager.getSelectedEmployeeID();
     private String userID;
@@ -268,6 +269,7 @@ public abstract class AbstractEmployeeUpdatePage extends AbstractEmployeeRegiste
             }
 
             c.commit();
+            empSvc.invalidateEmployee(selectedEmployeeID);
             JOptionPane.showMessageDialog(
                 this,
                 "Employee updated successfully!",
@@ -2,9 +2,11 @@ package ui.base;
 
 import pojo.Employee;
 import pojo.Leave;
+import service.ServiceRegistry;
 import service.AttendanceService;
 import service.EmployeeService;
 import service.LeaveService;
+import util.RefreshScheduler;
 import util.SessionManager;
 import ui.PageLogin;
 
@@ -19,16 +21,22 @@ import java.time.format.DateTimeFormatter;
 import java.time.YearMonth;
 import java.util.Comparator;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
-public abstract class AbstractHomePage extends JFrame {
+public abstract class AbstractHomePage extends AbstractPage {
 
     protected String userID;
     protected int employeeID;
 
+    // Monthly total, leave balance and today's in/out are DB figures: reloaded through
+    // RefreshScheduler after clock-in/out, leave writes, a month change, or this coarse
+    // interval (which also picks up a clock-in made from another session) — never on the 1 s tick
+    private static final long SUMMARY_REFRESH_MS = 5 * 60_000L;
+
     private Timer clockTimer;
-    private LocalDate lastAutoDate = null;
+
+    private BigDecimal monthlyWorkedHours = BigDecimal.ZERO;
+    private YearMonth  summaryMonth       = null;
+    private long       seenLeaveChanges   = -1;
 
     public boolean isClockedInToday  = false;
     public boolean isClockedOutToday = false;
@@ -36,8 +44,8 @@ public abstract class AbstractHomePage extends JFrame {
     private LocalDateTime clockInDateTime  = null;
     private LocalDateTime clockOutDateTime = null;
 
-    protected AttendanceService attendanceService = new AttendanceService();
-    protected LeaveService leaveService = new LeaveService(); // Added to support leaveAllowance lookup
+    protected AttendanceService attendanceService = ServiceRegistry.getAttendanceService();
+    protected LeaveService leaveService = ServiceRegistry.getLeaveService(); // Added to support leaveAllowance lookup
 
     /**
      * Call once you have userID & employeeID.
@@ -50,14 +58,13 @@ public abstract class AbstractHomePage extends JFrame {
         installProfileClick(getFullNameText());
         installProfileClick(getPositionText());
 
-        updateLeaveAllowanceDisplay(); // --- Always display most recent leave allowance
+        // today's status arrives with the summary feed's first (fresh) load
         startClock();
-        refreshClockInOutStatus();
     }
 
     private void loadEmployeeInfo() {
         try {
-            Employee e = new EmployeeService().getEmployeeByID(employeeID);
+            Employee e = ServiceRegistry.getEmployeeService().getEmployeeByID(employeeID);
             if (e != null) {
                 getFullNameText().setText(e.getFirstName() + " " + e.getLastName());
                 getPositionText().setText(e.getPosition());
@@ -100,7 +107,7 @@ public abstract class AbstractHomePage extends JFrame {
     protected abstract void onProfileLabelClick();
 
     protected void startClock() {
-        clockTimer = new Timer(1000, evt -> {
+        clockTimer = ownTimer(new Timer(1000, evt -> {
             LocalDateTime now = LocalDateTime.now();
 
             // update date/time display
@@ -113,40 +120,67 @@ public abstract class AbstractHomePage extends JFrame {
             + "</div></html>";
             getDateTimeText().setText(html);
 
-            // auto–clock‐out at 6:50 once/day
-            if (now.getHour()==6 && now.getMinute()==50) {
-                LocalDate today = now.toLocalDate();
-                if (!today.equals(lastAutoDate)) {
-                    try { autoClockOutYesterday(); }
-                    catch (Exception e) { e.printStackTrace(); }
-                    lastAutoDate = today;
-                    refreshClockInOutStatus();
-                }
-            }
+            // (auto clock-out at 06:50 is a server-side job for all employees: main.JobRunner)
 
             // update Clock‐In button state
             updateClockInButtonAvailability();
 
-            // update hours display
-            try {
-                updateWorkedHoursDisplay(now);
-            } catch (SQLException ex) {
-                Logger.getLogger(AbstractHomePage.class.getName())
-                      .log(Level.SEVERE, null, ex);
+            // new month or a leave was filed/approved somewhere: reload the DB figures
+            if (summaryMonth != null && (!YearMonth.from(now).equals(summaryMonth)
+                    || leaveService.getChangeCount() != seenLeaveChanges)) {
+                seenLeaveChanges = leaveService.getChangeCount();
+                summaryMonth = YearMonth.from(now);
+                refreshSummariesAsync();
             }
 
-            // update leave allowance display dynamically every tick
-            updateLeaveAllowanceDisplay();
-
-        });
+            // live "today" counter, from the in-memory clock-in time
+            updateWorkedHoursDisplay(now);
+        }));
         clockTimer.setInitialDelay(0);
         clockTimer.start();
+
+        RefreshScheduler feeds = RefreshScheduler.getInstance();
+        RefreshScheduler.Subscription summary = feeds.subscribe(
+                summaryFeed(), SUMMARY_REFRESH_MS, this::loadSummary, this::applySummary);
+        onDispose(summary::close);
+    }
+
+    private String summaryFeed() { return "home.summary." + employeeID; }
+
+    /** DB-backed figures shown on the home page. */
+    private static final class Summary {
+        YearMonth  month;
+        BigDecimal monthlyWorkedHours = BigDecimal.ZERO;
+        double     leaveAllowance     = 0;
+        long       leaveChanges;
+        AttendanceService.AttendanceStatus today;
+    }
+
+    // Runs on a scheduler thread
+    private Summary loadSummary() throws SQLException {
+        Summary s = new Summary();
+        s.month = YearMonth.now();
+        s.leaveChanges = leaveService.getChangeCount();
+        s.monthlyWorkedHours = attendanceService
+            .getMonthlyWorkedHours(employeeID, s.month.getYear(), s.month.getMonthValue());
+        s.leaveAllowance = latestLeaveAllowance();
+        s.today = attendanceService.getTodayAttendanceStatus(employeeID);
+        return s;
+    }
+
+    // Runs on the EDT
+    private void applySummary(Summary s) {
+        if (isDisposed()) return;
+        summaryMonth = s.month;
+        seenLeaveChanges = s.leaveChanges;
+        monthlyWorkedHours = s.monthlyWorkedHours;
+        getLeavesAvailableText().setText(String.format("%.0f", s.leaveAllowance));
+        applyTodayStatus(s.today); // also redraws the worked-hours label
     }
 
-    private void autoClockOutYesterday() throws Exception {
-        LocalDate yesterday = LocalDate.now().minusDays(1);
-        LocalTime cutoff    = LocalTime.of(6,50);
-        attendanceService.autoClockOutForDate(employeeID, yesterday, cutoff);
+    /** Asks the scheduler to reload the monthly worked hours, leave balance and today's status now. */
+    protected void refreshSummariesAsync() {
+        RefreshScheduler.getInstance().refreshNow(summaryFeed());
     }
 
     private void updateClockInButtonAvailability() {
@@ -166,129 +200,123 @@ public abstract class AbstractHomePage extends JFrame {
     }
 
     public void performClockIn() {
-        try {
-            if (isClockedInToday) {
-                JOptionPane.showMessageDialog(this,
-                  "You have already clocked in today.");
-                return;
-            }
-            boolean ok = attendanceService.clockIn(employeeID);
-            if (ok) {
-                clockInDateTime = LocalDateTime.now();
-                clockOutDateTime = null;
-                isClockedInToday = true;
-                getClockInText().setText(getCurrentTime());
-                getClockOutButton().setEnabled(true);
-                JOptionPane.showMessageDialog(this,
-                  "Clock-In successful!", "Success",
-                  JOptionPane.INFORMATION_MESSAGE
-                );
-                refreshClockInOutStatus();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                  "Unable to clock in.", "Error",
-                  JOptionPane.ERROR_MESSAGE
-                );
-            }
-        } catch (Exception ex) {
+        if (isClockedInToday) {
             JOptionPane.showMessageDialog(this,
-              "Error during Clock-In: " + ex.getMessage(),
-              "Error", JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
+              "You have already clocked in today.");
+            return;
         }
+        // upsert + resulting status in one call, off the EDT; a repeated click changes nothing
+        getClockInButton().setEnabled(false);
+        runClockAction("Clock-In", () -> attendanceService.clockIn(employeeID),
+                AttendanceService.AttendanceStatus::isClockedIn);
     }
 
     public void performClockOut() {
-        try {
-            if (!isClockedInToday) {
-                JOptionPane.showMessageDialog(this,
-                  "You must clock in first.");
-                return;
-            }
-            if (isClockedOutToday) {
-                JOptionPane.showMessageDialog(this,
-                  "You have already clocked out today.");
-                return;
-            }
-            boolean ok = attendanceService.clockOut(employeeID);
-            if (ok) {
-                clockOutDateTime = LocalDateTime.now();
-                isClockedOutToday = true;
-                getClockOutText().setText(getCurrentTime());
-                getClockInButton().setEnabled(false);
-                getClockOutButton().setEnabled(false);
-                JOptionPane.showMessageDialog(this,
-                  "Clock-Out successful!", "Success",
-                  JOptionPane.INFORMATION_MESSAGE
-                );
-                refreshClockInOutStatus();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                  "Unable to clock out.", "Error",
-                  JOptionPane.ERROR_MESSAGE
-                );
-            }
-        } catch (Exception ex) {
+        if (!isClockedInToday) {
             JOptionPane.showMessageDialog(this,
-              "Error during Clock-Out: " + ex.getMessage(),
-              "Error", JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
+              "You must clock in first.");
+            return;
         }
+        if (isClockedOutToday) {
+            JOptionPane.showMessageDialog(this,
+              "You have already clocked out today.");
+            return;
+        }
+        getClockOutButton().setEnabled(false);
+        runClockAction("Clock-Out", () -> attendanceService.clockOut(employeeID),
+                AttendanceService.AttendanceStatus::isClockedOut);
     }
 
-    public void refreshClockInOutStatus() {
-        try {
-            var s = attendanceService.getTodayAttendanceStatus(employeeID);
-
-            if (s.isClockedIn()) {
-                isClockedInToday = true;
-                String inStr = s.getLogIn();
-                getClockInText().setText(inStr);
-                clockInDateTime = parsePossiblyTimeOnly(inStr);
-                getClockOutButton().setEnabled(!s.isClockedOut());
-            } else {
-                isClockedInToday = false;
-                clockInDateTime = null;
-                getClockInText().setText("Not Clocked-In");
-                getClockOutButton().setEnabled(false);
+    // Runs the clock write on a worker thread and applies the returned status in done()
+    private void runClockAction(String action,
+                                java.util.concurrent.Callable<AttendanceService.AttendanceStatus> write,
+                                java.util.function.Predicate<AttendanceService.AttendanceStatus> succeeded) {
+        ownWorker(new SwingWorker<AttendanceService.AttendanceStatus, Void>() {
+            @Override
+            protected AttendanceService.AttendanceStatus doInBackground() throws Exception {
+                return write.call();
             }
-            if (s.isClockedOut()) {
-                isClockedOutToday = true;
-                String outStr = s.getLogOut();
-                getClockOutText().setText(outStr);
-                clockOutDateTime = parsePossiblyTimeOnly(outStr);
-            } else {
-                isClockedOutToday = false;
-                clockOutDateTime = null;
-                getClockOutText().setText("Not Clocked-Out");
+
+            @Override
+            protected void done() {
+                if (isCancelled() || isDisposed()) return;
+                try {
+                    AttendanceService.AttendanceStatus s = get();
+                    applyTodayStatus(s);
+                    refreshSummariesAsync();
+                    if (succeeded.test(s)) {
+                        JOptionPane.showMessageDialog(AbstractHomePage.this,
+                          action + " successful!", "Success",
+                          JOptionPane.INFORMATION_MESSAGE
+                        );
+                    } else {
+                        JOptionPane.showMessageDialog(AbstractHomePage.this,
+                          "Unable to " + action.toLowerCase().replace('-', ' ') + ".", "Error",
+                          JOptionPane.ERROR_MESSAGE
+                        );
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    // restore the buttons from the last known status
+                    updateClockInButtonAvailability();
+                    getClockOutButton().setEnabled(isClockedInToday && !isClockedOutToday);
+                    JOptionPane.showMessageDialog(AbstractHomePage.this,
+                      "Error during " + action + ": " + ex.getCause().getMessage(),
+                      "Error", JOptionPane.ERROR_MESSAGE);
+                    ex.getCause().printStackTrace();
+                }
             }
+        }).execute();
+    }
 
-            updateClockInButtonAvailability();
-            updateWorkedHoursDisplay(LocalDateTime.now());
-            updateLeaveAllowanceDisplay();
+    /** Reloads today's status (with the other summary figures) in the background. */
+    public void refreshClockInOutStatus() {
+        refreshSummariesAsync();
+    }
 
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this,
-              "Error refreshing attendance status: " + ex.getMessage(),
-              "Error", JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
+    private void applyTodayStatus(AttendanceService.AttendanceStatus s) {
+        if (isDisposed()) return;
+        if (s.isClockedIn()) {
+            isClockedInToday = true;
+            String inStr = s.getLogIn();
+            getClockInText().setText(inStr);
+            clockInDateTime = parsePossiblyTimeOnly(inStr);
+            getClockOutButton().setEnabled(!s.isClockedOut());
+        } else {
+            isClockedInToday = false;
+            clockInDateTime = null;
+            getClockInText().setText("Not Clocked-In");
+            getClockOutButton().setEnabled(false);
+        }
+        if (s.isClockedOut()) {
+            isClockedOutToday = true;
+            String outStr = s.getLogOut();
+            getClockOutText().setText(outStr);
+            clockOutDateTime = parsePossiblyTimeOnly(outStr);
+        } else {
+            isClockedOutToday = false;
+            clockOutDateTime = null;
+            getClockOutText().setText("Not Clocked-Out");
         }
+
+        updateClockInButtonAvailability();
+        updateWorkedHoursDisplay(LocalDateTime.now());
     }
 
-    // Dynamically update leavesAvailableText
+    // Reload leavesAvailableText (and the monthly total) in the background
     protected void updateLeaveAllowanceDisplay() {
-        try {
-            List<Leave> leaves = leaveService.getLeavesByEmployeeID(employeeID);
-            double allowance = 0;
-            if (leaves != null && !leaves.isEmpty()) {
-                // Find the latest (most recent) leave by dateCreated
-                leaves.sort(Comparator.comparing(Leave::getDateCreated).reversed());
-                allowance = leaves.get(0).getLeaveAllowance();
-            }
-            getLeavesAvailableText().setText(String.format("%.0f", allowance));
-        } catch (Exception ex) {
-            getLeavesAvailableText().setText("0");
-        }
+        refreshSummariesAsync();
+    }
+
+    // Allowance recorded on the most recent leave (by dateCreated); 0 when none
+    private double latestLeaveAllowance() {
+        List<Leave> leaves = leaveService.getLeavesByEmployeeID(employeeID);
+        if (leaves == null) return 0;
+        return leaves.stream()
+                .max(Comparator.comparing(Leave::getDateCreated))
+                .map(Leave::getLeaveAllowance)
+                .orElse(0.0);
     }
 
     /**
@@ -310,11 +338,9 @@ public abstract class AbstractHomePage extends JFrame {
       }
     }
 
-    private void updateWorkedHoursDisplay(LocalDateTime now) throws SQLException {
-        YearMonth ym = YearMonth.now();
-        BigDecimal decHrs = attendanceService
-          .getMonthlyWorkedHours(employeeID, ym.getYear(), ym.getMonthValue());
-        long totalMin = decHrs.multiply(BigDecimal.valueOf(60))
+    // Monthly total as last loaded + live "today" counter; no DB access
+    private void updateWorkedHoursDisplay(LocalDateTime now) {
+        long totalMin = monthlyWorkedHours.multiply(BigDecimal.valueOf(60))
                               .setScale(0, RoundingMode.HALF_UP)
                               .longValue();
         long mH = totalMin / 60, mM = totalMin % 60;
@@ -356,11 +382,6 @@ public abstract class AbstractHomePage extends JFrame {
         });
     }
 
-    private String getCurrentTime() {
-        return LocalDateTime.now()
-            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-    }
-
     // --- Subclasses supply these getters and the click hook ---
     protected abstract JLabel  getFullNameText();
     protected abstract JLabel  getPositionText();
@@ -2,6 +2,7 @@ package ui.base;
 
 import pojo.User;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.UserService;
 import service.EmployeeService;
 import util.SessionManager;
@@ -13,6 +14,7 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -21,7 +23,7 @@ import java.util.stream.Collectors;
  * - Features real-time filtering by Employee ID and account status.
  * - Reusable with minimal code in PageITUserAccounts.
  */
-public abstract class AbstractITUserAccountsPage extends JFrame {
+public abstract class AbstractITUserAccountsPage extends AbstractPage {
 
     protected JTable userAccountsTable;
     protected JComboBox<String> statusFilter;
@@ -30,8 +32,8 @@ public abstract class AbstractITUserAccountsPage extends JFrame {
     protected JButton newUserButton;
     protected JButton backButton;
 
-    protected UserService userService = new UserService();
-    protected EmployeeService employeeService = new EmployeeService();
+    protected UserService userService = ServiceRegistry.getUserService();
+    protected EmployeeService employeeService = ServiceRegistry.getEmployeeService();
 
     private final String[] columnNames = {
             "Account Status", "User ID", "Full Name", "Email"
@@ -138,8 +140,12 @@ public abstract class AbstractITUserAccountsPage extends JFrame {
             @Override public boolean isCellEditable(int r, int c) { return false; }
         };
 
+        // One query for every listed user instead of one per row
+        Map<String, Employee> employeesByUser = employeeService.getEmployeesByUserIDs(
+                filtered.stream().map(User::getUserID).collect(Collectors.toList()));
+
         for (User u : filtered) {
-            Employee emp = employeeService.getEmployeeByUserID(u.getUserID());
+            Employee emp = employeesByUser.get(u.getUserID());
             String fullName = (emp != null) ? emp.getLastName() + ", " + emp.getFirstName() : "";
             String email = (emp != null) ? emp.getEmail() : "";
             model.addRow(new Object[]{u.getAccountStatus(), u.getUserID(), fullName, email});
@@ -1,7 +1,10 @@
 package ui.base;
 
+import dao.Page;
+import dao.PageQuery;
 import pojo.Leave;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.LeaveService;
 import service.EmployeeService;
 import com.toedter.calendar.JDateChooser;
@@ -17,7 +20,7 @@ import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 
-public abstract class AbstractLeaveAdminPage extends JFrame {
+public abstract class AbstractLeaveAdminPage extends AbstractPage {
 
     protected JTable leaveTable;
     protected JDateChooser JDateChooser;
@@ -30,13 +33,17 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
     protected List<Leave> displayedLeaves = new ArrayList<>();
     protected List<Integer> employeeIDs = new ArrayList<>();
 
+    // Rows fetched per page; the next page loads when the table is scrolled to the bottom
+    private static final int PAGE_SIZE = 100;
+    private PageQuery nextLeavePage;
+
     private static final String[] leaveTableCols = {
         "Leave ID", "Employee ID", "Approval Status", "Leave Type", "Leave Start", "Leave End", "Leave Reason"
     };
 
     public AbstractLeaveAdminPage() {
-        leaveService = new LeaveService();
-        employeeService = new EmployeeService();
+        leaveService = ServiceRegistry.getLeaveService();
+        employeeService = ServiceRegistry.getEmployeeService();
     }
 
     // Connect to concrete UI components
@@ -57,6 +64,7 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
         addDateFilterListener();
         addEmployeeComboBoxListener();
         addRefreshButtonListener();
+        loadMoreAtScrollEnd(leaveTable, this::loadNextLeavePage);
         reloadLeaveTable();
     }
 
@@ -182,8 +190,9 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
         if (!"Pending".equals(leaveService.getApprovalStatusName(leave.getApprovalStatusID())))
             return;
 
-        leave.setApprovalStatusID(approve ? 1 : 2);
-        leaveService.updateLeave(leave);
+        Leave decided = new Leave(leave); // the row may be shared through the DAO cache
+        decided.setApprovalStatusID(approve ? 1 : 2);
+        leaveService.updateLeave(decided);
         reloadLeaveTable();
 
         JOptionPane.showMessageDialog(
@@ -194,10 +203,8 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
         );
     }
 
-    // Reload table applying BOTH filters
+    // Reload table applying BOTH filters: first page from the database, more on scroll
     protected void reloadLeaveTable() {
-        List<Leave> allLeaves = leaveService.getAllLeaves();
-
         String selectedEmp = (String) employeeIDComboBox.getSelectedItem();
         Integer employeeID = null;
         if (selectedEmp != null && !"All".equals(selectedEmp)) {
@@ -208,34 +215,31 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
             }
         }
 
-        Date filterDate = null;
-        Integer filterMonth = null, filterYear = null;
+        // Picked month as [first day, first day of next month); matches created, start or end date
+        Date from = null, to = null;
         if (JDateChooser != null && JDateChooser.getDate() != null) {
             LocalDate d = JDateChooser.getDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-            filterMonth = d.getMonthValue();
-            filterYear = d.getYear();
+            from = Date.valueOf(d.withDayOfMonth(1));
+            to = Date.valueOf(d.withDayOfMonth(1).plusMonths(1));
         }
 
-        List<Leave> result = new ArrayList<>();
-        for (Leave l : allLeaves) {
-            boolean empMatch = (employeeID == null) || (l.getEmployeeID() == employeeID);
-            boolean monthYearMatch = true;
+        ((DefaultTableModel) leaveTable.getModel()).setRowCount(0);
+        displayedLeaves.clear();
+        nextLeavePage = new PageQuery().employee(employeeID).between(from, to).limit(PAGE_SIZE);
+        loadNextLeavePage();
+    }
 
-            if (filterMonth != null && filterYear != null) {
-                monthYearMatch = matchMonthYear(l.getLeaveStart(), filterMonth, filterYear)
-                              || matchMonthYear(l.getLeaveEnd(), filterMonth, filterYear)
-                              || matchMonthYear(l.getDateCreated(), filterMonth, filterYear);
-            }
-            if (empMatch && monthYearMatch) result.add(l);
-        }
-        populateLeaveTable(result);
+    // Appends the next page, if any; status and type names come from the in-memory lookups
+    private void loadNextLeavePage() {
+        if (nextLeavePage == null) return;
+        Page<Leave> page = leaveService.getLeavePage(nextLeavePage);
+        nextLeavePage = page.nextQuery();
+        appendLeaveRows(page.getItems());
     }
 
-    private void populateLeaveTable(List<Leave> leaves) {
+    private void appendLeaveRows(List<Leave> leaves) {
         DefaultTableModel model = (DefaultTableModel) leaveTable.getModel();
-        model.setRowCount(0);
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-        displayedLeaves.clear();
         for (Leave l : leaves) {
             model.addRow(new Object[]{
                 l.getLeaveID(),
@@ -252,11 +256,4 @@ public abstract class AbstractLeaveAdminPage extends JFrame {
         leaveTable.revalidate();
         leaveTable.repaint();
     }
-
-    // True if the sql.Date d matches given month and year
-    private boolean matchMonthYear(Date d, int month, int year) {
-        Calendar c = Calendar.getInstance();
-        c.setTime(d);
-        return (c.get(Calendar.YEAR) == year) && (c.get(Calendar.MONTH) + 1 == month);
-    }
-}
\ No newline at end of file
+}
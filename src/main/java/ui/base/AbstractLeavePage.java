@@ -1,6 +1,8 @@
 package ui.base;
 
 import pojo.Leave;
+import pojo.RequestRow;
+import service.ServiceRegistry;
 import service.LeaveService;
 import util.SessionManager;
 import com.toedter.calendar.JDateChooser;
@@ -14,7 +16,7 @@ import java.sql.Date;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
-public abstract class AbstractLeavePage extends JFrame {
+public abstract class AbstractLeavePage extends AbstractPage {
     protected JTable leaveTable;
     protected JDateChooser JDateChooser;
     protected LeaveService leaveService;
@@ -30,7 +32,7 @@ public abstract class AbstractLeavePage extends JFrame {
     public AbstractLeavePage() {
         this.employeeID = SessionManager.getEmployeeID();
         this.userID = SessionManager.getUserID();
-        this.leaveService = new LeaveService();
+        this.leaveService = ServiceRegistry.getLeaveService();
     }
 
     protected void setComponentReferences(JTable leaveTable, JDateChooser JDateChooser) {
@@ -141,7 +143,7 @@ public abstract class AbstractLeavePage extends JFrame {
         if (JDateChooser != null && JDateChooser.getDate() != null) {
             filterDate = new Date(JDateChooser.getDate().getTime());
         }
-        List<Leave> leaves = leaveService.getLeavesByEmployeeID(employeeID);
+        List<RequestRow<Leave>> leaves = leaveService.getLeaveRowsByEmployeeID(employeeID);
 
         // No filter set, show all
         if (filterDate == null) {
@@ -150,12 +152,13 @@ public abstract class AbstractLeavePage extends JFrame {
         }
 
         // 1. Look for *any* exact date match in the records
-        List<Leave> exactMatches = new ArrayList<>();
-        for (Leave l : leaves) {
+        List<RequestRow<Leave>> exactMatches = new ArrayList<>();
+        for (RequestRow<Leave> row : leaves) {
+            Leave l = row.getRequest();
             if (sameDay(l.getLeaveStart(), filterDate) ||
                 sameDay(l.getLeaveEnd(), filterDate) ||
                 sameDay(l.getDateCreated(), filterDate)) {
-                exactMatches.add(l);
+                exactMatches.add(row);
             }
         }
         if (!exactMatches.isEmpty()) {
@@ -169,25 +172,27 @@ public abstract class AbstractLeavePage extends JFrame {
         int filterYear = filterCal.get(Calendar.YEAR);
         int filterMonth = filterCal.get(Calendar.MONTH);
 
-        List<Leave> monthYearMatches = new ArrayList<>();
-        for (Leave l : leaves) {
+        List<RequestRow<Leave>> monthYearMatches = new ArrayList<>();
+        for (RequestRow<Leave> row : leaves) {
+            Leave l = row.getRequest();
             if (matchesMonthYear(l.getLeaveStart(), filterYear, filterMonth) ||
                 matchesMonthYear(l.getLeaveEnd(), filterYear, filterMonth) ||
                 matchesMonthYear(l.getDateCreated(), filterYear, filterMonth)) {
-                monthYearMatches.add(l);
+                monthYearMatches.add(row);
             }
         }
         populateLeaveTable(monthYearMatches);
     }
 
-    protected void populateLeaveTable(List<Leave> leaves) {
+    protected void populateLeaveTable(List<RequestRow<Leave>> leaves) {
         DefaultTableModel model = (DefaultTableModel) leaveTable.getModel();
         model.setRowCount(0);
         SimpleDateFormat sdf = new SimpleDateFormat("MMM d, yyyy");
         displayedLeaves.clear();
-        for (Leave l : leaves) {
-            String status = leaveService.getApprovalStatusName(l.getApprovalStatusID());
-            String type = leaveService.getLeaveTypeName(l.getLeaveTypeID());
+        for (RequestRow<Leave> row : leaves) {
+            Leave l = row.getRequest();
+            String status = row.getApprovalStatus();
+            String type = row.getTypeName();
             String start = sdf.format(l.getLeaveStart());
             String end = sdf.format(l.getLeaveEnd());
             String reason = l.getLeaveReason();
@@ -1,6 +1,7 @@
 package ui.base;
 
 import pojo.Leave;
+import service.ServiceRegistry;
 import service.LeaveService;
 import util.SessionManager;
 import pojo.Employee;
@@ -17,7 +18,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
 
-public abstract class AbstractLeaveRequestPage extends JFrame {
+public abstract class AbstractLeaveRequestPage extends AbstractPage {
     protected JComboBox<String> leaveTypeComboBox;
     protected JDateChooser startDateCalendar;
     protected JDateChooser endDateCalendar;
@@ -25,8 +26,8 @@ public abstract class AbstractLeaveRequestPage extends JFrame {
     protected JTextField leaveAvailableField;
     protected JButton submitButton;
 
-    protected final LeaveService leaveService = new LeaveService();
-    protected final EmployeeService employeeService = new EmployeeService();
+    protected final LeaveService leaveService = ServiceRegistry.getLeaveService();
+    protected final EmployeeService employeeService = ServiceRegistry.getEmployeeService();
     protected int employeeID = SessionManager.getEmployeeID();
 
     private int currentLeaveTypeID = -1;
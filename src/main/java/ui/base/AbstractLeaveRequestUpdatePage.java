@@ -1,6 +1,7 @@
 package ui.base;
 
 import pojo.Leave;
+import service.ServiceRegistry;
 import service.LeaveService;
 import service.EmployeeService;
 import util.SessionManager;
@@ -16,7 +17,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
 
-public abstract class AbstractLeaveRequestUpdatePage extends JFrame {
+public abstract class AbstractLeaveRequestUpdatePage extends AbstractPage {
     protected JComboBox<String> leaveTypeComboBox;
     protected JDateChooser startDateCalendar;
     protected JDateChooser endDateCalendar;
@@ -24,8 +25,8 @@ public abstract class AbstractLeaveRequestUpdatePage extends JFrame {
     protected JTextField leaveAvailableField;
     protected JButton submitButton;
 
-    protected final LeaveService leaveService = new LeaveService();
-    protected final EmployeeService employeeService = new EmployeeService();
+    protected final LeaveService leaveService = ServiceRegistry.getLeaveService();
+    protected final EmployeeService employeeService = ServiceRegistry.getEmployeeService();
     protected int employeeID = SessionManager.getEmployeeID();
 
     protected Leave editingLeave;
@@ -342,14 +343,17 @@ public abstract class AbstractLeaveRequestUpdatePage extends JFrame {
                 "Confirm Update", JOptionPane.YES_NO_OPTION);
         if (confirm != JOptionPane.YES_OPTION) return;
 
-        // Update the Leave object fields with new values
-        editingLeave.setLeaveTypeID(currentLeaveTypeID);
-        editingLeave.setLeaveStart(new java.sql.Date(startDateCalendar.getDate().getTime()));
-        editingLeave.setLeaveEnd(new java.sql.Date(endDateCalendar.getDate().getTime()));
-        editingLeave.setLeaveReason(leaveReasonTextArea.getText().trim());
+        // Edit a copy: the loaded row may be shared through the DAO cache,
+        // and a failed update must not leave the edits behind
+        Leave updated = new Leave(editingLeave);
+        updated.setLeaveTypeID(currentLeaveTypeID);
+        updated.setLeaveStart(new java.sql.Date(startDateCalendar.getDate().getTime()));
+        updated.setLeaveEnd(new java.sql.Date(endDateCalendar.getDate().getTime()));
+        updated.setLeaveReason(leaveReasonTextArea.getText().trim());
         // If you want to update allowance, do so here if applicable
 
-        leaveService.updateLeave(editingLeave);
+        leaveService.updateLeave(updated);
+        editingLeave = updated;
 
         formDirty = false;
         onUpdateRequestSubmitted();
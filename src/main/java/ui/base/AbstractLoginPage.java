@@ -1,5 +1,6 @@
 package ui.base;
 
+import service.ServiceRegistry;
 import service.LoginService;
 import pojo.User;
 import util.SessionManager;
@@ -15,7 +16,7 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
 
-public abstract class AbstractLoginPage extends JFrame {
+public abstract class AbstractLoginPage extends AbstractPage {
   protected JTextField     usernameField;
   protected JPasswordField passwordField;
   protected BlueButton     loginButton;
@@ -74,7 +75,7 @@ public abstract class AbstractLoginPage extends JFrame {
     }
 
     try {
-      LoginService svc = new LoginService();
+      LoginService svc = ServiceRegistry.getLoginService();
       User user = svc.login(userInput, pwd);
 
       // 2) invalid credentials?
@@ -1,8 +1,11 @@
 package ui.base;
 
 import com.toedter.calendar.JDateChooser;
+import dao.Page;
+import dao.PageQuery;
 import pojo.Overtime;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.OvertimeService;
 import service.EmployeeService;
 import util.SessionManager;
@@ -10,23 +13,25 @@ import util.SessionManager;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.event.*;
-import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.List;
 
-public abstract class AbstractOvertimeAdminPage extends JFrame {
+public abstract class AbstractOvertimeAdminPage extends AbstractPage {
 
     protected JTable overtimeTable;
     protected JComboBox<String> employeeIDComboBox;
     protected JDateChooser JDateChooser;
-    protected final OvertimeService overtimeService = new OvertimeService();
-    protected final EmployeeService employeeService = new EmployeeService();
+    protected final OvertimeService overtimeService = ServiceRegistry.getOvertimeService();
+    protected final EmployeeService employeeService = ServiceRegistry.getEmployeeService();
 
-    protected List<Overtime> allOvertimes = new ArrayList<>();
     protected List<Overtime> filteredOvertimes = new ArrayList<>();
+    // Rows fetched per page; the next page loads when the table is scrolled to the bottom
+    private static final int PAGE_SIZE = 100;
+    private PageQuery nextOvertimePage;
     protected Map<Integer, String> employeeNameMap = new HashMap<>();
     private final String[] overtimeTableCols = {
             "Overtime ID", "Employee ID", "Employee Name",
@@ -42,11 +47,11 @@ public abstract class AbstractOvertimeAdminPage extends JFrame {
 
         setupTableModel();
         loadEmployeeList();
-        loadAllOvertimeData();
         applyFiltersAndPopulate();
 
         addTableDoubleClickListener();
         addFilterListeners();
+        loadMoreAtScrollEnd(overtimeTable, this::loadNextOvertimePage);
     }
 
     private void setupTableModel() {
@@ -79,54 +84,45 @@ public abstract class AbstractOvertimeAdminPage extends JFrame {
         }
     }
 
-    // Load all overtime records from SQL
-    protected void loadAllOvertimeData() {
-        allOvertimes = overtimeService.getAllOvertimes();
-    }
-
     // Used by refreshButton (call this in UI button)
     public void refreshAllData() {
         loadEmployeeList();
-        loadAllOvertimeData();
         JDateChooser.setDate(null);
         employeeIDComboBox.setSelectedIndex(0);
         applyFiltersAndPopulate();
     }
 
-    // Filter logic: mix of employeeID and month/year
+    // Filter logic: employeeID and the picked month (by start date), queried one page at a time
     protected void applyFiltersAndPopulate() {
-        filteredOvertimes = new ArrayList<>(allOvertimes);
-
         String selectedID = (String) employeeIDComboBox.getSelectedItem();
-        Date pickedDate = (JDateChooser != null) ? JDateChooser.getDate() : null;
+        java.util.Date pickedDate = (JDateChooser != null) ? JDateChooser.getDate() : null;
 
-        // Filter by employeeID
-        if (selectedID != null && !"All".equals(selectedID)) {
-            int filterID = Integer.parseInt(selectedID);
-            filteredOvertimes.removeIf(ot -> ot.getEmployeeID() != filterID);
-        }
+        Integer employeeID = (selectedID != null && !"All".equals(selectedID))
+                ? Integer.valueOf(selectedID) : null;
 
-        // Filter by month/year if set
+        java.sql.Date from = null, to = null;
         if (pickedDate != null) {
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(pickedDate);
-            int filterYear = cal.get(Calendar.YEAR);
-            int filterMonth = cal.get(Calendar.MONTH); // zero-based
-
-            filteredOvertimes.removeIf(ot -> {
-                Calendar otStart = Calendar.getInstance();
-                otStart.setTime(ot.getOvertimeStart());
-                return otStart.get(Calendar.YEAR) != filterYear ||
-                       otStart.get(Calendar.MONTH) != filterMonth;
-            });
+            LocalDate first = pickedDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().withDayOfMonth(1);
+            from = java.sql.Date.valueOf(first);
+            to = java.sql.Date.valueOf(first.plusMonths(1));
         }
 
-        populateOvertimeTable(filteredOvertimes);
+        ((DefaultTableModel) overtimeTable.getModel()).setRowCount(0);
+        filteredOvertimes = new ArrayList<>();
+        nextOvertimePage = new PageQuery().employee(employeeID).between(from, to).limit(PAGE_SIZE);
+        loadNextOvertimePage();
+    }
+
+    // Appends the next page, if any
+    private void loadNextOvertimePage() {
+        if (nextOvertimePage == null) return;
+        Page<Overtime> page = overtimeService.getOvertimePage(nextOvertimePage);
+        nextOvertimePage = page.nextQuery();
+        appendOvertimeRows(page.getItems());
     }
 
-    private void populateOvertimeTable(List<Overtime> overtimeList) {
+    private void appendOvertimeRows(List<Overtime> overtimeList) {
         DefaultTableModel model = (DefaultTableModel) overtimeTable.getModel();
-        model.setRowCount(0);
 
         SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm");
         for (Overtime ot : overtimeList) {
@@ -140,6 +136,7 @@ public abstract class AbstractOvertimeAdminPage extends JFrame {
                     ot.getOvertimeReason(),
                     getStatusText(ot.getApprovalStatusID())
             });
+            filteredOvertimes.add(ot);
         }
     }
 
@@ -204,7 +201,6 @@ public abstract class AbstractOvertimeAdminPage extends JFrame {
     private void updateApprovalStatus(Overtime ot, int statusID) {
         try {
             overtimeService.updateApprovalStatus(ot.getOvertimeID(), statusID);
-            loadAllOvertimeData();
             applyFiltersAndPopulate();
             JOptionPane.showMessageDialog(overtimeTable,
                     "Overtime request has been " + (statusID == 1 ? "Approved." : "Rejected."),
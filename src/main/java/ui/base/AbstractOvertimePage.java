@@ -1,6 +1,7 @@
 package ui.base;
 
 import pojo.Overtime;
+import service.ServiceRegistry;
 import service.OvertimeService;
 import util.SessionManager;
 import com.toedter.calendar.JDateChooser;
@@ -12,10 +13,10 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.sql.Timestamp;
 
-public abstract class AbstractOvertimePage extends JFrame {
+public abstract class AbstractOvertimePage extends AbstractPage {
     protected JTable overtimeTable;
     protected JDateChooser JDateChooser;
-    protected final OvertimeService overtimeService = new OvertimeService();
+    protected final OvertimeService overtimeService = ServiceRegistry.getOvertimeService();
 
     protected int employeeID;
     protected String userID;
@@ -2,6 +2,7 @@ package ui.base;
 
 import com.toedter.calendar.JDateChooser;
 import pojo.Overtime;
+import service.ServiceRegistry;
 import service.OvertimeService;
 import util.SessionManager;
 
@@ -13,7 +14,7 @@ import java.sql.Timestamp;
 import java.util.Calendar;
 import java.util.Date;
 
-public abstract class AbstractOvertimeRequestPage extends JFrame {
+public abstract class AbstractOvertimeRequestPage extends AbstractPage {
     protected JDateChooser startDateCalendar;
     protected JSpinner overtimeHoursJSpinner;
     protected JTextArea overtimeReasonTextArea;
@@ -30,7 +31,7 @@ public abstract class AbstractOvertimeRequestPage extends JFrame {
     // Used to prevent duplicate dialogs on date validation
     private boolean suppressDateDialog = false;
 
-    protected final OvertimeService overtimeService = new OvertimeService();
+    protected final OvertimeService overtimeService = ServiceRegistry.getOvertimeService();
 
     // Call this in UI constructor after initComponents
     protected void setComponentReferences(JDateChooser startDateCalendar, JSpinner overtimeHoursJSpinner,
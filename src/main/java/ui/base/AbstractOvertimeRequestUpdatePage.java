@@ -2,6 +2,7 @@ package ui.base;
 
 import com.toedter.calendar.JDateChooser;
 import pojo.Overtime;
+import service.ServiceRegistry;
 import service.OvertimeService;
 import util.SessionManager;
 
@@ -161,14 +162,18 @@ public abstract class AbstractOvertimeRequestUpdatePage extends AbstractOvertime
         c.add(Calendar.HOUR_OF_DAY, hours);
         Timestamp overtimeEnd = new Timestamp(c.getTimeInMillis());
 
-        currentOvertime.setOvertimeStart(overtimeStart);
-        currentOvertime.setOvertimeEnd(overtimeEnd);
-        currentOvertime.setOvertimeReason(reason);
-        currentOvertime.setApprovalStatusID(3); // Pending
+        // Edit a copy: the loaded row may be shared through the DAO cache,
+        // and a failed update must not leave the edits behind
+        Overtime updated = new Overtime(currentOvertime);
+        updated.setOvertimeStart(overtimeStart);
+        updated.setOvertimeEnd(overtimeEnd);
+        updated.setOvertimeReason(reason);
+        updated.setApprovalStatusID(3); // Pending
 
         try {
-            OvertimeService overtimeService = new OvertimeService();
-            overtimeService.updateOvertime(currentOvertime);
+            OvertimeService overtimeService = ServiceRegistry.getOvertimeService();
+            overtimeService.updateOvertime(updated);
+            currentOvertime = updated;
 
             setInitialValues(getDateOrNull(startDateCalendar), hours, reason);
             formDirty = false;
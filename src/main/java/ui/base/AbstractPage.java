@@ -0,0 +1,165 @@
+package ui.base;
+
+import javax.swing.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Common base of every page frame: tracks the page lifecycle
+ * (CREATED -> SHOWN <-> HIDDEN -> DISPOSED) and owns the page's background work.
+ *
+ * Timers, SwingWorkers and listener registrations handed to {@link #ownTimer(Timer)},
+ * {@link #ownWorker(SwingWorker)} and {@link #onDispose(Runnable)} are released when the page is
+ * disposed, so navigating away never leaves a hidden frame polling the database.
+ * Owned timers are also paused while the page is hidden and resumed when it is shown.
+ *
+ * Subclasses may override {@link #onShown()}, {@link #onHidden()} and {@link #onDisposed()}.
+ */
+public abstract class AbstractPage extends JFrame {
+
+    public enum State { CREATED, SHOWN, HIDDEN, DISPOSED }
+
+    private State state = State.CREATED;
+
+    private final List<Timer> timers = new ArrayList<>();
+    private final List<Timer> pausedTimers = new ArrayList<>();
+    private final Set<SwingWorker<?, ?>> workers = new LinkedHashSet<>();
+    private final List<Runnable> unregisters = new ArrayList<>();
+
+    protected AbstractPage() {
+        addComponentListener(new ComponentAdapter() {
+            @Override public void componentShown(ComponentEvent e)  { shown(); }
+            @Override public void componentHidden(ComponentEvent e) { hidden(); }
+        });
+    }
+
+    public State getLifecycleState() {
+        return state;
+    }
+
+    public boolean isDisposed() {
+        return state == State.DISPOSED;
+    }
+
+    // ---- owned resources ----
+
+    /** Stops the timer on dispose and pauses it while the page is hidden. */
+    protected Timer ownTimer(Timer timer) {
+        if (isDisposed()) {
+            timer.stop();
+        } else {
+            timers.add(timer);
+        }
+        return timer;
+    }
+
+    /** Cancels the worker on dispose if it is still running. */
+    protected <W extends SwingWorker<?, ?>> W ownWorker(W worker) {
+        if (isDisposed()) {
+            worker.cancel(true);
+            return worker;
+        }
+        workers.add(worker);
+        PropertyChangeListener[] self = new PropertyChangeListener[1];
+        self[0] = evt -> {
+            if ("state".equals(evt.getPropertyName()) && evt.getNewValue() == SwingWorker.StateValue.DONE) {
+                workers.remove(worker);
+                worker.removePropertyChangeListener(self[0]);
+            }
+        };
+        worker.addPropertyChangeListener(self[0]);
+        return worker;
+    }
+
+    /** Runs {@code unregister} on dispose, e.g. to detach a listener from a shared object. */
+    protected void onDispose(Runnable unregister) {
+        if (isDisposed()) {
+            unregister.run();
+        } else {
+            unregisters.add(unregister);
+        }
+    }
+
+    /**
+     * Calls {@code loadMore} when the table's scroll pane is scrolled to the bottom, so paged
+     * tables fetch their next page on demand instead of loading every row up front.
+     */
+    protected void loadMoreAtScrollEnd(JTable table, Runnable loadMore) {
+        JScrollPane scroll = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, table);
+        if (scroll == null) return;
+        JScrollBar bar = scroll.getVerticalScrollBar();
+        bar.addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()
+                    && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - table.getRowHeight()) {
+                loadMore.run();
+            }
+        });
+    }
+
+    // ---- lifecycle hooks ----
+
+    protected void onShown()    { }
+    protected void onHidden()   { }
+    protected void onDisposed() { }
+
+    @Override
+    public void dispose() {
+        if (state != State.DISPOSED) {
+            state = State.DISPOSED;
+            releaseOwned();
+            try {
+                onDisposed();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(AbstractPage.class.getName()).log(Level.WARNING, "onDisposed failed", ex);
+            }
+        }
+        super.dispose();
+    }
+
+    // ---- internals ----
+
+    private void shown() {
+        if (isDisposed() || state == State.SHOWN) return;
+        state = State.SHOWN;
+        for (Timer t : pausedTimers) t.start();
+        pausedTimers.clear();
+        onShown();
+    }
+
+    private void hidden() {
+        if (isDisposed() || state != State.SHOWN) return;
+        state = State.HIDDEN;
+        for (Timer t : timers) {
+            if (t.isRunning()) {
+                t.stop();
+                pausedTimers.add(t);
+            }
+        }
+        onHidden();
+    }
+
+    private void releaseOwned() {
+        for (Timer t : timers) t.stop();
+        timers.clear();
+        pausedTimers.clear();
+
+        for (SwingWorker<?, ?> w : new ArrayList<>(workers)) w.cancel(true);
+        workers.clear();
+
+        for (Runnable r : unregisters) {
+            try {
+                r.run();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(AbstractPage.class.getName()).log(Level.WARNING, "Listener cleanup failed", ex);
+            }
+        }
+        unregisters.clear();
+    }
+}
@@ -1,7 +1,11 @@
 package ui.base;
 
+import payroll.PayrollBatchRun;
 import pojo.Payslip;
+import service.ServiceRegistry;
 import service.PayslipService;
+import util.Money;
+import util.MoneySum;
 import util.SessionManager;
 
 import com.toedter.calendar.JDateChooser;
@@ -12,15 +16,14 @@ import java.awt.*;
 import java.io.File;
 import java.io.InputStream;
 import java.sql.Date;
-import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 
-public abstract class AbstractPayrollPage extends JFrame {
+public abstract class AbstractPayrollPage extends AbstractPage {
 
     protected JTable payrollTable;
     protected JTextField totalGrossField;
@@ -29,7 +32,7 @@ public abstract class AbstractPayrollPage extends JFrame {
     protected JTextField totalNetPayField;
     protected JDateChooser dateChooser;
 
-    protected final PayslipService payslipService = new PayslipService();
+    protected final PayslipService payslipService = ServiceRegistry.getPayslipService();
 
     // For readable headers
     private final String[] payrollTableCols = {
@@ -117,48 +120,38 @@ public abstract class AbstractPayrollPage extends JFrame {
 
         DefaultTableModel model = (DefaultTableModel) payrollTable.getModel();
         model.setRowCount(0);
-        DecimalFormat pesoFmt = new DecimalFormat("#,##0.00");
+        // Totals are the centavo sums of the rows shown, so they always add up on screen
+        MoneySum gross = new MoneySum();
+        MoneySum contributions = new MoneySum();
+        MoneySum deductions = new MoneySum();
+        MoneySum netPay = new MoneySum();
         for (Payslip p : payslips) {
             model.addRow(new Object[] {
                 p.getPayslipNo(),
                 p.getEmployeeID(),
                 p.getEmployeeName(),
                 p.getEmployeePositionDepartment(),
-                pesoFmt.format(p.getGrossIncome()),
-                pesoFmt.format(p.getTotalBenefits()),
-                pesoFmt.format(p.getTotalDeductions()),
-                pesoFmt.format(p.getTakeHomePay())
+                Money.format(p.getGrossIncome()),
+                Money.format(p.getTotalBenefits()),
+                Money.format(p.getTotalDeductions()),
+                Money.format(p.getTakeHomePay())
             });
+            gross.add(p.getGrossIncome());
+            contributions.add(p.getTotalBenefits());
+            deductions.add(p.getTotalDeductions());
+            netPay.add(p.getTakeHomePay());
         }
 
-        double gross = payslips.stream().mapToDouble(Payslip::getGrossIncome).sum();
-        double contrib = payslips.stream().mapToDouble(Payslip::getTotalBenefits).sum();
-        double deduct = payslips.stream().mapToDouble(Payslip::getTotalDeductions).sum();
-        double net   = payslips.stream().mapToDouble(Payslip::getTakeHomePay).sum();
-
-        totalGrossField.setText(pesoFmt.format(gross));
-        totalContributionsField.setText(pesoFmt.format(contrib));
-        totalDeductionsField.setText(pesoFmt.format(deduct));
-        totalNetPayField.setText(pesoFmt.format(net));
+        totalGrossField.setText(gross.toString());
+        totalContributionsField.setText(contributions.toString());
+        totalDeductionsField.setText(deductions.toString());
+        totalNetPayField.setText(netPay.toString());
     }
 
     protected List<Payslip> getPayslipsForMonth(Date date) {
         if (date == null) return Collections.emptyList();
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        int filterMonth = cal.get(Calendar.MONTH) + 1;
-        int filterYear = cal.get(Calendar.YEAR);
-
-        List<Payslip> allPayslips = payslipService.getAllPayslips();
-        return allPayslips.stream()
-                .filter(p -> {
-                    if (p.getPeriodEndDate() == null) return false;
-                    Calendar pc = Calendar.getInstance();
-                    pc.setTime(p.getPeriodEndDate());
-                    return (pc.get(Calendar.MONTH) + 1 == filterMonth)
-                        && (pc.get(Calendar.YEAR) == filterYear);
-                })
-                .collect(Collectors.toList());
+        // Month filter runs in SQL on PERIOD_END_DATE instead of scanning all payroll history
+        return payslipService.getPayslipsForMonth(YearMonth.from(date.toLocalDate()));
     }
 
     protected boolean isTableEmpty() {
@@ -213,6 +206,47 @@ public abstract class AbstractPayrollPage extends JFrame {
         }
     }
 
+    /**
+     * Stores and closes the selected month after confirmation. Runs in the background;
+     * a second user closing the same month gets an "already in progress" message.
+     */
+    protected void closeSelectedPeriod(Window parent) {
+        if (dateChooser.getDate() == null) return;
+        YearMonth month = YearMonth.from(new Date(dateChooser.getDate().getTime()).toLocalDate());
+        int choice = JOptionPane.showConfirmDialog(parent,
+                "Close the payroll period " + month + "?\nIts payslips are stored and can no longer change.",
+                "Close Period", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION) return;
+
+        ownWorker(new SwingWorker<PayrollBatchRun.Report, Void>() {
+            @Override
+            protected PayrollBatchRun.Report doInBackground() {
+                return payslipService.closePeriod(month, getUserID());
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled()) return;
+                try {
+                    PayrollBatchRun.Report report = get();
+                    JOptionPane.showMessageDialog(parent,
+                            "Payroll period " + month + " closed: " + report.getTotalPayslips() + " payslips stored.",
+                            "Close Period", JOptionPane.INFORMATION_MESSAGE);
+                    refreshPayrollTable();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    JOptionPane.showMessageDialog(parent,
+                            cause instanceof IllegalStateException
+                                    ? cause.getMessage()
+                                    : "Failed to close the period; run it again to resume.\n" + cause.getMessage(),
+                            "Close Period", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }).execute();
+    }
+
     protected String getUserID() { return SessionManager.getUserID(); }
     protected int getEmployeeID() { return SessionManager.getEmployeeID(); }
 }
\ No newline at end of file
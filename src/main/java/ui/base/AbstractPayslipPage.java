@@ -2,14 +2,16 @@ package ui.base;
 
 import java.io.InputStream;
 import pojo.Payslip;
+import service.ServiceRegistry;
 import service.PayslipService;
+import util.Money;
 import util.SessionManager;
 import java.util.*;
 import java.text.*;
 import javax.swing.*;
 import service.EmployeeService;
 
-public abstract class AbstractPayslipPage extends JFrame {
+public abstract class AbstractPayslipPage extends AbstractPage {
 
     protected JComboBox<String> payslipPeriodComboBox;
     protected com.toedter.calendar.JDateChooser jDateChooser;
@@ -28,7 +30,7 @@ public abstract class AbstractPayslipPage extends JFrame {
 
     public AbstractPayslipPage() {
         int employeeID = SessionManager.getEmployeeID();
-        this.payslipService = new PayslipService();
+        this.payslipService = ServiceRegistry.getPayslipService();
         this.payslipList = payslipService.getPayslipsByEmployeeID(employeeID);
     }
 
@@ -220,11 +222,11 @@ public abstract class AbstractPayslipPage extends JFrame {
     }
 
     protected String formatAmount(double amount) {
-        return String.format("%.2f", amount);
+        return Money.formatPlain(amount);
     }
 
     protected String formatPeso(double amount) {
-        return "₱" + String.format("%,.2f", amount);
+        return "₱" + Money.format(amount);
     }
 
     protected void handlePrintPayslip() {
@@ -243,7 +245,7 @@ public abstract class AbstractPayslipPage extends JFrame {
             String payslipNo = currentPayslip.getPayslipNo();
             int employeeID = currentPayslip.getEmployeeID();
 
-            EmployeeService empService = new EmployeeService();
+            EmployeeService empService = ServiceRegistry.getEmployeeService();
             pojo.Employee emp = empService.getEmployeeByID(employeeID);
 
             String employeeIdStr = (emp != null) ? String.valueOf(emp.getEmployeeID()) : "--";
@@ -1,16 +1,17 @@
 package ui.base;
 
 import javax.swing.JLabel;
+import service.ServiceRegistry;
 import service.EmployeeService;
 import pojo.Employee;
 import util.SessionManager;
 
-public abstract class AbstractProfilePage extends javax.swing.JFrame {
+public abstract class AbstractProfilePage extends AbstractPage {
 
     protected EmployeeService employeeService;
 
     public AbstractProfilePage() {
-        employeeService = new EmployeeService();
+        employeeService = ServiceRegistry.getEmployeeService();
     }
 
     protected void initializeProfilePage() {
@@ -8,11 +8,12 @@ import java.awt.Color;
 import java.util.Arrays;
 import pojo.User;
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.UserService;
 import service.EmployeeService;
 import util.SessionManager;
 
-public abstract class AbstractUpdateCredentialPage extends JFrame {
+public abstract class AbstractUpdateCredentialPage extends AbstractPage {
     protected UserService userService;
     protected EmployeeService employeeService;
     protected User currentUser;
@@ -29,8 +30,8 @@ public abstract class AbstractUpdateCredentialPage extends JFrame {
     private Runnable onCancelOrBack;
 
     public AbstractUpdateCredentialPage() {
-        this.userService     = new UserService();
-        this.employeeService = new EmployeeService();
+        this.userService     = ServiceRegistry.getUserService();
+        this.employeeService = ServiceRegistry.getEmployeeService();
         String userID = SessionManager.getUserID();
         if (userID == null || userID.isEmpty()) {
             JOptionPane.showMessageDialog(this,
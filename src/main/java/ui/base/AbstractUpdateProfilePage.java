@@ -1,6 +1,7 @@
 package ui.base;
 
 import pojo.Employee;
+import service.ServiceRegistry;
 import service.EmployeeService;
 import util.SessionManager;
 import db.DatabaseConnection;
@@ -15,7 +16,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.function.Predicate;
 
-public abstract class AbstractUpdateProfilePage extends JFrame {
+public abstract class AbstractUpdateProfilePage extends AbstractPage {
     protected EmployeeService employeeService;
     protected Employee currentEmployee;
 
@@ -24,7 +25,7 @@ public abstract class AbstractUpdateProfilePage extends JFrame {
     private Runnable onCancelOrBack;
 
     public AbstractUpdateProfilePage() {
-        this.employeeService = new EmployeeService();
+        this.employeeService = ServiceRegistry.getEmployeeService();
         int empID = SessionManager.getEmployeeID();
         currentEmployee = employeeService.getEmployeeByID(empID);
         if (currentEmployee == null) {
@@ -302,10 +303,8 @@ public abstract class AbstractUpdateProfilePage extends JFrame {
             "SET a.houseNo = ?, a.street = ?, a.barangay = ?, a.city = ?, a.province = ?, a.zipCode = ? " +
             "WHERE ea.employeeID = ?";
 
-        Connection conn = DatabaseConnection.getInstance().getConnection();
-        PreparedStatement ps  = null;
-        try {
-            ps = conn.prepareStatement(sql);
+        try (Connection conn = DatabaseConnection.getInstance().getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, currentEmployee.getHouseNo());
             ps.setString(2, currentEmployee.getStreet());
             ps.setString(3, currentEmployee.getBarangay());
@@ -314,6 +313,7 @@ public abstract class AbstractUpdateProfilePage extends JFrame {
             ps.setInt(   6, currentEmployee.getZipCode());
             ps.setInt(   7, currentEmployee.getEmployeeID());
             ps.executeUpdate();
+            employeeService.invalidateEmployee(currentEmployee.getEmployeeID());
 
             JOptionPane.showMessageDialog(
                 this,
@@ -332,9 +332,6 @@ public abstract class AbstractUpdateProfilePage extends JFrame {
                 "Error",
                 JOptionPane.ERROR_MESSAGE
             );
-        } finally {
-            if (ps != null) try { ps.close(); } catch (SQLException ignored) {}
-            // **do not close** the shared connection here
         }
     }
 
@@ -0,0 +1,92 @@
+package util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Small thread-safe LRU cache with a size bound and a time-to-live per entry.
+ *
+ * Entries past {@code ttlMillis} are treated as missing; when more than {@code maxEntries}
+ * are stored, the least recently used one is dropped. A TTL of {@code Long.MAX_VALUE} means
+ * entries never expire (for immutable data). Hits, misses and evictions are
+ * counted for {@link #stats()}.
+ */
+public final class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxEntries, long ttlMillis) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be >= 1");
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /** Cached value, or null when absent or expired (counted as a miss). */
+    public synchronized V get(K key) {
+        Entry<V> e = map.get(key);
+        if (e != null && e.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return e.value;
+        }
+        if (e != null) {
+            map.remove(key);
+            evictions.increment();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(K key, V value) {
+        long now = System.currentTimeMillis();
+        long expiresAt = ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis;
+        map.put(key, new Entry<>(value, expiresAt));
+        Iterator<Entry<V>> it = map.values().iterator(); // least recently used first
+        while (map.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        map.remove(key);
+    }
+
+    /** Drops every entry whose value matches. */
+    public synchronized void invalidateIf(Predicate<? super V> matches) {
+        map.values().removeIf(e -> matches.test(e.value));
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+}
@@ -0,0 +1,37 @@
+package util;
+
+/** Point-in-time counters of a cache. */
+public final class CacheStats {
+
+    private final String name;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public CacheStats(String name, long hits, long misses, long evictions, int size) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public String getName()    { return name; }
+    public long getHits()      { return hits; }
+    public long getMisses()    { return misses; }
+    public long getEvictions() { return evictions; }
+    public int getSize()       { return size; }
+
+    /** Hits / (hits + misses), or 0 before the first lookup. */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: size=%d hits=%d misses=%d evictions=%d hitRate=%.1f%%",
+                name, size, hits, misses, evictions, getHitRate() * 100);
+    }
+}
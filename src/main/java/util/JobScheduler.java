@@ -0,0 +1,104 @@
+package util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process scheduler for daily maintenance jobs (e.g. the 06:50 auto clock-out).
+ *
+ * Jobs run one at a time on a single scheduler thread, once a day at their local time.
+ * Each run is logged with the number of rows it reported and how long it took; a failed
+ * run is logged and the job stays scheduled for the next day.
+ *
+ * Usable from the desktop client or headless (see {@code main.JobRunner}).
+ */
+public final class JobScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LogManager.getLogger(JobScheduler.class);
+
+    /** One unit of work; returns the number of rows it affected (for the run log). */
+    @FunctionalInterface
+    public interface Job {
+        long run() throws Exception;
+    }
+
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /**
+     * @param daemon false when the scheduler is the only thing keeping the JVM alive
+     */
+    public JobScheduler(boolean daemon, Clock clock) {
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "job-scheduler");
+            t.setDaemon(daemon);
+            return t;
+        });
+    }
+
+    /** Runs {@code job} every day at {@code at} (scheduler-local time). */
+    public synchronized void scheduleDaily(String name, LocalTime at, Job job) {
+        if (jobs.putIfAbsent(name, job) != null) {
+            throw new IllegalArgumentException("Job already scheduled: " + name);
+        }
+        scheduleNext(name, at, job, Duration.ZERO);
+        LOG.info("Job '{}' scheduled daily at {}", name, at);
+    }
+
+    /** Runs a registered job right away on the scheduler thread (e.g. a start-up catch-up). */
+    public synchronized void runNow(String name) {
+        Job job = jobs.get(name);
+        if (job == null) throw new IllegalArgumentException("Unknown job: " + name);
+        executor.execute(() -> runLogged(name, job));
+    }
+
+    /** Time from {@code now} until the next {@code at}; today if still ahead, else tomorrow. */
+    public static Duration delayUntil(LocalTime at, ZonedDateTime now) {
+        ZonedDateTime next = now.with(at);
+        if (!next.isAfter(now)) next = now.plusDays(1).with(at);
+        return Duration.between(now, next);
+    }
+
+    /** Executes the job on the calling thread and logs the outcome; returns rows or -1 on failure. */
+    public static long runLogged(String name, Job job) {
+        long start = System.nanoTime();
+        try {
+            long rows = job.run();
+            LOG.info("Job '{}' finished: {} rows in {} ms", name, rows, (System.nanoTime() - start) / 1_000_000);
+            return rows;
+        } catch (Exception ex) {
+            LOG.error("Job '{}' failed after {} ms", name, (System.nanoTime() - start) / 1_000_000, ex);
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // ---- internals ----
+
+    // 'skip' guards against a timer that fires a few ms early re-running the same day
+    private void scheduleNext(String name, LocalTime at, Job job, Duration skip) {
+        Duration delay = delayUntil(at, ZonedDateTime.now(clock).plus(skip)).plus(skip);
+        executor.schedule(() -> {
+            runLogged(name, job);
+            synchronized (this) {
+                if (!executor.isShutdown()) scheduleNext(name, at, job, Duration.ofSeconds(1));
+            }
+        }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,146 @@
+package util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Peso amount held as a whole number of centavos.
+ *
+ * Arithmetic is exact long arithmetic (overflow throws); the only rounding is to the
+ * nearest centavo, half away from zero, when multiplying by a fraction or converting
+ * from {@code double}. Formatting needs no {@link java.util.Formatter} or
+ * {@link java.text.DecimalFormat}. Use {@link MoneySum} to add up many amounts.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    /** @throws ArithmeticException for {@code Long.MIN_VALUE}, which has no positive counterpart */
+    public static Money ofCentavos(long centavos) {
+        if (centavos == Long.MIN_VALUE) throw new ArithmeticException("Centavo amount out of range");
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    /** Nearest centavo of a peso amount, e.g. a {@code double} column read from the database. */
+    public static Money of(double pesos) {
+        return ofCentavos(toCentavos(pesos));
+    }
+
+    /** Parses "1234.5", "1,234.56" or "-12"; more than two decimals round half up. */
+    public static Money parse(String pesos) {
+        BigDecimal d = new BigDecimal(pesos.trim().replace(",", ""));
+        return ofCentavos(d.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Centavos of a peso amount, rounded half away from zero. A value a few ulps below a
+     * half centavo (1.005 is stored as 1.00499999...) rounds up, like its decimal form.
+     */
+    public static long toCentavos(double pesos) {
+        return roundHalfAway(pesos * 100);
+    }
+
+    // Nearest integer, halves away from zero, tolerating representation error just below .5
+    private static long roundHalfAway(double v) {
+        if (Double.isNaN(v) || Math.abs(v) >= 0x1p62) {
+            throw new ArithmeticException("Peso amount out of range: " + v / 100);
+        }
+        double abs = Math.abs(v);
+        long whole = (long) abs;
+        if (abs - whole >= 0.5 - 4 * Math.ulp(abs)) whole++;
+        return v < 0 ? -whole : whole;
+    }
+
+    // ---- arithmetic ----
+
+    public long centavos()         { return centavos; }
+    public double toPesos()        { return centavos / 100.0; }
+    public BigDecimal toBigDecimal() { return BigDecimal.valueOf(centavos, 2); }
+
+    public Money plus(Money other)  { return ofCentavos(Math.addExact(centavos, other.centavos)); }
+    public Money minus(Money other) { return ofCentavos(Math.subtractExact(centavos, other.centavos)); }
+    public Money negate()           { return ofCentavos(Math.negateExact(centavos)); }
+
+    public Money times(long factor) {
+        return ofCentavos(Math.multiplyExact(centavos, factor));
+    }
+
+    /** Amount x quantity (e.g. hourly rate x hours), to the nearest centavo. */
+    public Money times(double quantity) {
+        return ofCentavos(roundHalfAway(centavos * quantity));
+    }
+
+    /** Amount x numerator / denominator in exact integer arithmetic, e.g. 3% = (3, 100). */
+    public Money ratio(long numerator, long denominator) {
+        if (denominator <= 0) throw new ArithmeticException("denominator must be > 0");
+        long n = Math.multiplyExact(centavos, numerator);
+        long q = n / denominator;
+        long r = Math.abs(n % denominator);
+        if (r * 2 >= denominator) q += Long.signum(n);
+        return ofCentavos(q);
+    }
+
+    public Money max(Money other) { return centavos >= other.centavos ? this : other; }
+    public Money min(Money other) { return centavos <= other.centavos ? this : other; }
+
+    public boolean isZero()     { return centavos == 0; }
+    public boolean isNegative() { return centavos < 0; }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(centavos, other.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    // ---- formatting ----
+
+    /** "1,234.56" */
+    @Override
+    public String toString() {
+        return format(centavos, true);
+    }
+
+    /** "1234.56" */
+    public String toPlainString() {
+        return format(centavos, false);
+    }
+
+    /** Formats a {@code double} peso amount as "1,234.56" (the payroll table style). */
+    public static String format(double pesos) {
+        return format(toCentavos(pesos), true);
+    }
+
+    /** Formats a {@code double} peso amount as "1234.56". */
+    public static String formatPlain(double pesos) {
+        return format(toCentavos(pesos), false);
+    }
+
+    private static String format(long centavos, boolean grouped) {
+        long abs = Math.absExact(centavos); // throws rather than formatting Long.MIN_VALUE
+        String whole = Long.toString(abs / 100);
+        int cents = (int) (abs % 100);
+
+        StringBuilder sb = new StringBuilder(whole.length() + whole.length() / 3 + 4);
+        if (centavos < 0) sb.append('-');
+        for (int i = 0; i < whole.length(); i++) {
+            if (grouped && i > 0 && (whole.length() - i) % 3 == 0) sb.append(',');
+            sb.append(whole.charAt(i));
+        }
+        return sb.append('.').append((char) ('0' + cents / 10)).append((char) ('0' + cents % 10)).toString();
+    }
+}
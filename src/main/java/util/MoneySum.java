@@ -0,0 +1,41 @@
+package util;
+
+/**
+ * Running total in centavos, for summing payslip columns without a {@link Money} or
+ * {@link java.math.BigDecimal} per addition. Each added {@code double} is rounded to the
+ * centavo first, so the total equals the sum of the amounts as displayed.
+ * Not thread-safe.
+ */
+public final class MoneySum {
+
+    private long centavos;
+    private int count;
+
+    public MoneySum add(double pesos) {
+        return addCentavos(Money.toCentavos(pesos));
+    }
+
+    public MoneySum add(Money amount) {
+        return addCentavos(amount.centavos());
+    }
+
+    public MoneySum addCentavos(long amount) {
+        centavos = Math.addExact(centavos, amount);
+        count++;
+        return this;
+    }
+
+    public long getCentavos() { return centavos; }
+
+    /** Number of amounts added. */
+    public int getCount()     { return count; }
+
+    public Money total() {
+        return Money.ofCentavos(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return total().toString();
+    }
+}
@@ -0,0 +1,285 @@
+package util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Application-wide scheduler for live page data ("feeds").
+ *
+ * - A feed is identified by name (e.g. {@code "home.summary.10001"}). Pages that
+ *   subscribe to the same name share one loader, one query per refresh and one cached
+ *   latest value; a late subscriber gets that value straight away.
+ * - A feed refreshes at the shortest interval any of its subscribers asked for. Intervals
+ *   are rounded up to the scheduler tick, so feeds due around the same time are loaded
+ *   together instead of each on its own timer.
+ * - Loaders run on a small background pool, never more than one at a time per feed;
+ *   results are delivered on the Swing EDT. A failed load is logged and the previous
+ *   value is kept.
+ *
+ * Subscriptions must be closed when the page goes away (see {@code AbstractPage.onDispose}).
+ */
+public final class RefreshScheduler {
+
+    private static final Logger LOG = LogManager.getLogger(RefreshScheduler.class);
+
+    private static final long DEFAULT_TICK_MS = 1000;
+    private static final int  LOADER_THREADS  = 2;
+
+    /** Handle returned by {@link #subscribe}; closing it stops delivery to that listener. */
+    public interface Subscription extends AutoCloseable {
+        @Override void close();
+    }
+
+    private static final class Feed {
+        final String name;
+        final Callable<?> loader;
+        final List<Sub> subs = new ArrayList<>();
+        long intervalMs;
+        long nextDueAt = 0;        // 0 = load on the next tick
+        long lastStartedAt = 0;
+        boolean loading = false;
+        boolean reloadRequested = false;
+        boolean hasValue = false;
+        Object lastValue;
+        long loads = 0;
+
+        Feed(String name, Callable<?> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+    }
+
+    private final class Sub implements Subscription {
+        final Feed feed;
+        final long intervalMs;
+        final Consumer<Object> listener;
+        volatile boolean closed = false;
+
+        Sub(Feed feed, long intervalMs, Consumer<Object> listener) {
+            this.feed = feed;
+            this.intervalMs = intervalMs;
+            this.listener = listener;
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            unsubscribe(this);
+        }
+    }
+
+    private static final class Holder {
+        static final RefreshScheduler INSTANCE = new RefreshScheduler(
+                Executors.newFixedThreadPool(LOADER_THREADS, daemonThreads("refresh-loader")),
+                SwingUtilities::invokeLater,
+                DEFAULT_TICK_MS);
+    }
+
+    public static RefreshScheduler getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final Map<String, Feed> feeds = new HashMap<>();
+    private final ExecutorService loaders;
+    private final Executor delivery;
+    private final long tickMs;
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * @param loaders  runs feed loaders (background threads)
+     * @param delivery hands results to listeners; the EDT in the application
+     * @param tickMs   scheduler resolution; every interval is rounded up to a multiple of it
+     */
+    public RefreshScheduler(ExecutorService loaders, Executor delivery, long tickMs) {
+        if (tickMs < 1) throw new IllegalArgumentException("tickMs must be >= 1");
+        this.loaders = loaders;
+        this.delivery = delivery;
+        this.tickMs = tickMs;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("refresh-ticker"));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes {@code listener} to the named feed, creating it with {@code loader} when it
+     * does not exist yet. Every subscriber of a name must mean the same data: the first
+     * loader registered for a name is the one used.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Subscription subscribe(String feedName, long intervalMs, Callable<? extends T> loader,
+                                      Consumer<? super T> listener) {
+        Sub sub;
+        Object current = null;
+        boolean deliverNow;
+        boolean loadNow;
+        synchronized (this) {
+            Feed feed = feeds.computeIfAbsent(feedName, n -> new Feed(n, loader));
+            sub = new Sub(feed, roundUp(intervalMs), (Consumer<Object>) listener);
+            feed.subs.add(sub);
+            feed.intervalMs = shortestInterval(feed);
+            // a faster subscriber pulls the next refresh forward
+            feed.nextDueAt = Math.min(feed.nextDueAt, feed.lastStartedAt + feed.intervalMs);
+            deliverNow = feed.hasValue;
+            if (deliverNow) current = feed.lastValue;
+            loadNow = !deliverNow && !feed.loading; // an in-flight load delivers to us too
+        }
+        if (deliverNow) {
+            final Object value = current;
+            delivery.execute(() -> { if (!sub.closed) sub.listener.accept(value); });
+        } else if (loadNow) {
+            refreshNow(feedName);
+        }
+        return sub;
+    }
+
+    /**
+     * Reloads the feed as soon as possible (e.g. right after the user changed its data).
+     * If a load is already running, one more runs after it.
+     */
+    public void refreshNow(String feedName) {
+        Feed feed;
+        synchronized (this) {
+            feed = feeds.get(feedName);
+            if (feed == null) return;
+            if (feed.loading) {
+                feed.reloadRequested = true;
+                return;
+            }
+            startLoad(feed, System.currentTimeMillis());
+        }
+        submit(feed);
+    }
+
+    public synchronized Set<String> getFeedNames() {
+        return new TreeSet<>(feeds.keySet());
+    }
+
+    /** Number of completed loads of the feed (0 if it does not exist). */
+    public synchronized long getLoadCount(String feedName) {
+        Feed feed = feeds.get(feedName);
+        return feed != null ? feed.loads : 0;
+    }
+
+    public void shutdown() {
+        ticker.shutdownNow();
+        loaders.shutdownNow();
+    }
+
+    // ---- internals ----
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<Feed> due = new ArrayList<>();
+        synchronized (this) {
+            for (Feed feed : feeds.values()) {
+                if (!feed.loading && now >= feed.nextDueAt) {
+                    startLoad(feed, now);
+                    due.add(feed);
+                }
+            }
+        }
+        for (Feed feed : due) submit(feed);
+    }
+
+    // caller holds the lock
+    private void startLoad(Feed feed, long now) {
+        feed.loading = true;
+        feed.lastStartedAt = now;
+        feed.nextDueAt = now + feed.intervalMs;
+    }
+
+    private void submit(Feed feed) {
+        try {
+            loaders.execute(() -> load(feed));
+        } catch (RuntimeException ex) { // rejected after shutdown
+            synchronized (this) { feed.loading = false; }
+        }
+    }
+
+    private void load(Feed feed) {
+        Object value;
+        try {
+            value = feed.loader.call();
+        } catch (Exception ex) {
+            LOG.warn("Refresh of feed '{}' failed: {}", feed.name, ex.toString());
+            synchronized (this) { finishLoad(feed); }
+            return;
+        }
+
+        List<Sub> targets;
+        synchronized (this) {
+            finishLoad(feed);
+            feed.loads++;
+            feed.hasValue = true;
+            feed.lastValue = value;
+            targets = new ArrayList<>(feed.subs);
+        }
+        if (targets.isEmpty()) return;
+        delivery.execute(() -> {
+            for (Sub sub : targets) {
+                if (sub.closed) continue;
+                try {
+                    sub.listener.accept(value);
+                } catch (RuntimeException ex) {
+                    LOG.warn("Listener of feed '{}' failed", feed.name, ex);
+                }
+            }
+        });
+    }
+
+    // caller holds the lock
+    private void finishLoad(Feed feed) {
+        feed.loading = false;
+        if (feed.reloadRequested) {
+            feed.reloadRequested = false;
+            feed.nextDueAt = 0;
+        }
+    }
+
+    private synchronized void unsubscribe(Sub sub) {
+        Feed feed = sub.feed;
+        feed.subs.remove(sub);
+        if (feed.subs.isEmpty()) {
+            feeds.remove(feed.name, feed);
+        } else {
+            feed.intervalMs = shortestInterval(feed);
+        }
+    }
+
+    private long shortestInterval(Feed feed) {
+        long min = Long.MAX_VALUE;
+        for (Sub s : feed.subs) min = Math.min(min, s.intervalMs);
+        return min;
+    }
+
+    private long roundUp(long intervalMs) {
+        long ticks = Math.max(1, (intervalMs + tickMs - 1) / tickMs);
+        return ticks * tickMs;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import util.BoundedCache;
+import util.CacheStats;
+
+class BoundedCacheTest {
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("t", 10, 60_000);
+        assertNull(cache.get(1));
+        cache.put(1, "a");
+        assertEquals("a", cache.get(1));
+        assertEquals("a", cache.get(1));
+
+        CacheStats st = cache.stats();
+        assertEquals(2, st.getHits());
+        assertEquals(1, st.getMisses());
+        assertEquals(2.0 / 3, st.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvictedAtCapacity() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("t", 2, 60_000);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.get(1);          // 2 is now least recently used
+        cache.put(3, "c");
+        assertNull(cache.get(2));
+        assertEquals("a", cache.get(1));
+        assertEquals("c", cache.get(3));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    void expiredEntriesAreMisses() throws InterruptedException {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("t", 10, 1);
+        cache.put(1, "a");
+        Thread.sleep(5);
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void maxTtlNeverExpires() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("t", 10, Long.MAX_VALUE);
+        cache.put(1, "closed");
+        assertEquals("closed", cache.get(1));
+    }
+
+    @Test
+    void invalidateIfDropsMatchingValues() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("t", 10, 60_000);
+        cache.put(1, "keep");
+        cache.put(2, "drop");
+        cache.invalidateIf("drop"::equals);
+        assertEquals("keep", cache.get(1));
+        assertNull(cache.get(2));
+    }
+}
@@ -0,0 +1,113 @@
+package test;
+
+import daoimpl.CachingDAO;
+import daoimpl.QueryCache;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingDAOTest {
+
+    /** Minimal DAO shape: one keyed read, one full read, one write. */
+    public interface NameDAO {
+        String getName(int id) throws SQLException;
+        List<String> getAllNames() throws SQLException;
+        List<String> getNamesSince(Date since) throws SQLException;
+        void updateName(int id, String name) throws SQLException;
+    }
+
+    static class FakeNameDAO implements NameDAO {
+        final List<String> names = new ArrayList<>(List.of("a", "b", "c"));
+        int reads = 0;
+        Runnable duringRead = () -> { };
+
+        @Override public String getName(int id) { reads++; return id < names.size() ? names.get(id) : null; }
+        @Override public List<String> getAllNames() {
+            reads++;
+            List<String> snapshot = new ArrayList<>(names);
+            duringRead.run();
+            return snapshot;
+        }
+        @Override public List<String> getNamesSince(Date since) { reads++; return new ArrayList<>(names); }
+        @Override public void updateName(int id, String name) throws SQLException {
+            if (id < 0) throw new SQLException("bad id");
+            names.set(id, name);
+        }
+    }
+
+    private final QueryCache cache = new QueryCache(1024 * 1024, 60_000);
+    private final FakeNameDAO fake = new FakeNameDAO();
+    private final NameDAO dao = CachingDAO.wrap(NameDAO.class, fake, List.of("names"), List.of("names"), cache);
+
+    @Test
+    void repeatedReadsHitTheCache() throws SQLException {
+        assertEquals("b", dao.getName(1));
+        assertEquals("b", dao.getName(1));
+        assertNull(dao.getName(9));
+        assertNull(dao.getName(9));
+        assertEquals(2, fake.reads, "one miss per distinct argument, nulls included");
+        assertEquals(2, cache.stats().getHits());
+    }
+
+    @Test
+    void writeEvictsTaggedReads() throws SQLException {
+        assertEquals(List.of("a", "b", "c"), dao.getAllNames());
+        dao.updateName(0, "z");
+        assertEquals(List.of("z", "b", "c"), dao.getAllNames());
+        assertEquals(2, fake.reads);
+    }
+
+    @Test
+    void failedWriteStillEvicts() throws SQLException {
+        dao.getName(0);
+        assertThrows(SQLException.class, () -> dao.updateName(-1, "x"));
+        dao.getName(0);
+        assertEquals(2, fake.reads);
+    }
+
+    @Test
+    void cachedListsAreCopiedPerCaller() throws SQLException {
+        List<String> first = dao.getAllNames();
+        first.clear();
+        assertEquals(3, dao.getAllNames().size());
+    }
+
+    @Test
+    void readOverlappingAWriteIsNotCached() throws SQLException {
+        fake.duringRead = () -> {
+            fake.duringRead = () -> { };
+            try {
+                dao.updateName(0, "z"); // lands after the read took its snapshot
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        assertEquals(List.of("a", "b", "c"), dao.getAllNames(), "the overlapping read still returns its rows");
+        assertEquals(List.of("z", "b", "c"), dao.getAllNames(), "but they were not cached");
+        assertEquals(2, fake.reads);
+    }
+
+    @Test
+    void mutatingADateArgumentDoesNotMoveTheEntry() throws SQLException {
+        Date since = new Date(1_000L);
+        dao.getNamesSince(since);
+        since.setTime(2_000L);
+        dao.getNamesSince(new Date(1_000L));
+        assertEquals(1, fake.reads, "entry stays keyed by the value the read was made with");
+    }
+
+    @Test
+    void oversizedResultsAreNotCached() throws SQLException {
+        QueryCache tiny = new QueryCache(64, 60_000);
+        NameDAO small = CachingDAO.wrap(NameDAO.class, fake, List.of("names"), List.of("names"), tiny);
+        small.getAllNames();
+        small.getAllNames();
+        assertEquals(2, fake.reads);
+        assertEquals(0, tiny.getEstimatedBytes());
+    }
+}
@@ -0,0 +1,212 @@
+package test;
+
+import db.ConnectionPool;
+import db.StatementStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseConnectionPoolTest {
+
+    /** Minimal in-memory stand-in for a physical JDBC connection. */
+    static class FakeConnection {
+        boolean closed = false;
+        boolean autoCommit = true;
+        int rollbacks = 0;
+        int prepares = 0;
+        final List<String> statementCalls = new ArrayList<>();
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (p, m, a) -> {
+                    switch (m.getName()) {
+                        case "close":         closed = true; return null;
+                        case "isClosed":      return closed;
+                        case "isValid":       return !closed;
+                        case "getAutoCommit": return autoCommit;
+                        case "setAutoCommit": autoCommit = (Boolean) a[0]; return null;
+                        case "rollback":      rollbacks++; return null;
+                        case "isReadOnly":    return false;
+                        case "prepareStatement":
+                            prepares++;
+                            return Proxy.newProxyInstance(
+                                PreparedStatement.class.getClassLoader(),
+                                new Class<?>[]{PreparedStatement.class},
+                                (sp, sm, sa) -> {
+                                    if ("isClosed".equals(sm.getName())) return Boolean.FALSE;
+                                    statementCalls.add(sa != null && sa.length == 1
+                                            ? sm.getName() + "=" + sa[0] : sm.getName());
+                                    return null;
+                                });
+                        default:              return null;
+                    }
+                });
+        }
+    }
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(int max, long acquireTimeoutMs) {
+        return newPool(max, acquireTimeoutMs, 0);
+    }
+
+    private ConnectionPool newPool(int max, long acquireTimeoutMs, int statementCacheSize) {
+        pool = new ConnectionPool(() -> {
+            FakeConnection f = new FakeConnection();
+            opened.add(f);
+            return f.proxy();
+        }, 0, max, 60_000, acquireTimeoutMs, statementCacheSize);
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) pool.close();
+    }
+
+    @Test
+    void closeReturnsConnectionForReuse() throws SQLException {
+        newPool(2, 1000);
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(1, opened.size(), "second borrow should reuse the first physical connection");
+        assertFalse(opened.get(0).closed, "physical connection stays open in the pool");
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void borrowBeyondMaxTimesOut() throws SQLException {
+        newPool(1, 100);
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        }
+        try (Connection again = pool.getConnection()) {
+            assertNotNull(again);
+        }
+    }
+
+    @Test
+    void returnRollsBackOpenTransaction() throws SQLException {
+        newPool(1, 1000);
+        try (Connection c = pool.getConnection()) {
+            c.setAutoCommit(false);
+        }
+        assertEquals(1, opened.get(0).rollbacks);
+        assertTrue(opened.get(0).autoCommit, "autocommit restored before reuse");
+    }
+
+    @Test
+    void closedHandleRejectsFurtherUse() throws SQLException {
+        newPool(1, 1000);
+        Connection c = pool.getConnection();
+        c.close();
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, () -> c.prepareStatement("SELECT 1"));
+        c.close(); // second close is a no-op
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    void closedPhysicalConnectionIsReplaced() throws SQLException {
+        newPool(1, 1000);
+        try (Connection c = pool.getConnection()) { }
+        opened.get(0).closed = true;
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(2, opened.size());
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    void preparedStatementsAreReusedAcrossBorrows() throws SQLException {
+        newPool(1, 1000, 8);
+        String sql = "SELECT * FROM attendance WHERE employeeID = ?";
+        for (int i = 0; i < 3; i++) {
+            try (Connection c = pool.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                assertSame(c, ps.getConnection(), "statement reports the pooled handle");
+            }
+        }
+        assertEquals(1, opened.get(0).prepares);
+
+        StatementStats st = pool.getStatementStats().get(0);
+        assertEquals(sql, st.getSql());
+        assertEquals(2, st.getHits());
+        assertEquals(1, st.getMisses());
+    }
+
+    @Test
+    void nestedUseOfSameSqlGetsSeparateStatement() throws SQLException {
+        newPool(1, 1000, 8);
+        try (Connection c = pool.getConnection();
+             PreparedStatement outer = c.prepareStatement("SELECT 1");
+             PreparedStatement inner = c.prepareStatement("SELECT 1")) {
+            assertNotSame(outer, inner);
+        }
+        assertEquals(2, opened.get(0).prepares);
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        newPool(1, 1000, 2);
+        try (Connection c = pool.getConnection()) {
+            for (String sql : new String[]{"SELECT 1", "SELECT 2", "SELECT 3", "SELECT 1"}) {
+                try (PreparedStatement ps = c.prepareStatement(sql)) { }
+            }
+        }
+        assertEquals(4, opened.get(0).prepares, "SELECT 1 was evicted before its second use");
+    }
+
+    @Test
+    void statementSettingsAreResetBeforeReuse() throws SQLException {
+        newPool(1, 1000, 8);
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT 1")) {
+            ps.setFetchSize(500);
+            ps.setQueryTimeout(5);
+        }
+        List<String> calls = opened.get(0).statementCalls;
+        assertTrue(calls.contains("setFetchSize=0"), calls.toString());
+        assertTrue(calls.contains("setQueryTimeout=0"), calls.toString());
+        assertTrue(calls.contains("setMaxRows=0"), calls.toString());
+
+        calls.clear();
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT 1")) {
+            ps.setInt(1, 1);
+        }
+        assertFalse(calls.contains("setFetchSize=0"), "untouched statements are not reset again");
+    }
+
+    @Test
+    void closeOnCompletionStatementIsNotReused() throws SQLException {
+        newPool(1, 1000, 8);
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT 1")) {
+            ps.closeOnCompletion();
+        }
+        try (Connection c = pool.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT 1")) {
+            assertNotNull(ps);
+        }
+        assertEquals(2, opened.get(0).prepares);
+    }
+}
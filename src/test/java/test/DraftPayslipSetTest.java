@@ -0,0 +1,115 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import payroll.DirtyEmployees;
+import payroll.DraftPayslipSet;
+import pojo.Payslip;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DraftPayslipSetTest {
+
+    private static final long RELOAD_MS = 60_000;
+
+    /** Clock the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        Instant now = Instant.parse("2024-06-10T08:00:00Z");
+        @Override public ZoneId getZone()                 { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone)      { return this; }
+        @Override public Instant instant()                { return now; }
+    }
+
+    /** Fake view: take-home per employee, plus a log of what each load asked for. */
+    private final Map<Integer, Double> view = new TreeMap<>(Map.of(1, 100.0, 2, 200.0, 3, 300.0));
+    private final List<Object> loads = new ArrayList<>();
+    private boolean failNextLoad;
+
+    private final ManualClock clock = new ManualClock();
+    private final DirtyEmployees dirty = new DirtyEmployees();
+    private final DraftPayslipSet draft = new DraftPayslipSet(this::load, dirty, clock, RELOAD_MS);
+
+    private List<Payslip> load(YearMonth month, Collection<Integer> ids) throws SQLException {
+        loads.add(ids == null ? "all " + month : List.copyOf(ids));
+        if (failNextLoad) {
+            failNextLoad = false;
+            throw new SQLException("timeout");
+        }
+        List<Payslip> rows = new ArrayList<>();
+        view.forEach((id, pay) -> {
+            if (ids == null || ids.contains(id)) {
+                Payslip p = new Payslip();
+                p.setEmployeeID(id);
+                p.setTakeHomePay(pay);
+                rows.add(p);
+            }
+        });
+        return rows;
+    }
+
+    @Test
+    void onlyDirtyEmployeesAreReRead() throws Exception {
+        assertEquals(3, draft.getPayslips().size());
+        assertTrue(draft.getLastRefresh().isFullReload());
+
+        view.put(2, 250.0);
+        view.remove(3);
+        dirty.mark(2);
+        dirty.mark(3);
+        DraftPayslipSet.Refresh r = draft.refresh();
+
+        assertFalse(r.isFullReload());
+        assertEquals(Set.of(2, 3), r.getRefreshedEmployeeIDs());
+        assertEquals(List.of("all 2024-06", List.of(2, 3)), loads);
+
+        List<Payslip> now = draft.getPayslips();
+        assertEquals(2, now.size());
+        assertEquals(250.0, now.get(1).getTakeHomePay());
+    }
+
+    @Test
+    void nothingDirtyMeansNoQuery() throws Exception {
+        draft.getPayslips();
+        draft.getPayslips();
+        assertEquals(1, loads.size());
+        assertTrue(draft.getLastRefresh().getRefreshedEmployeeIDs().isEmpty());
+    }
+
+    @Test
+    void monthRolloverEveryoneAndReloadIntervalForceFullReload() throws Exception {
+        draft.refresh();
+
+        dirty.markEveryone();
+        assertTrue(draft.refresh().isFullReload());
+
+        clock.now = clock.now.plusMillis(RELOAD_MS);
+        assertTrue(draft.refresh().isFullReload());
+
+        clock.now = Instant.parse("2024-07-01T00:00:00Z");
+        DraftPayslipSet.Refresh r = draft.refresh();
+        assertTrue(r.isFullReload());
+        assertEquals(YearMonth.of(2024, 7), r.getMonth());
+    }
+
+    @Test
+    void failedRefreshKeepsEmployeesDirty() throws Exception {
+        draft.refresh();
+        dirty.mark(1);
+        failNextLoad = true;
+        assertThrows(SQLException.class, draft::refresh);
+
+        assertEquals(Set.of(1), draft.refresh().getRefreshedEmployeeIDs());
+    }
+}
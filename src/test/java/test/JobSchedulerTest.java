@@ -0,0 +1,52 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import util.JobScheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSchedulerTest {
+
+    private static final ZoneId MANILA = ZoneId.of("Asia/Manila");
+    private static final LocalTime CUTOFF = LocalTime.of(6, 50);
+
+    @Test
+    void nextRunIsTodayWhenCutoffIsAhead() {
+        ZonedDateTime now = ZonedDateTime.of(2025, 3, 10, 6, 0, 0, 0, MANILA);
+        assertEquals(Duration.ofMinutes(50), JobScheduler.delayUntil(CUTOFF, now));
+    }
+
+    @Test
+    void nextRunIsTomorrowAtOrAfterCutoff() {
+        ZonedDateTime at = ZonedDateTime.of(2025, 3, 10, 6, 50, 0, 0, MANILA);
+        assertEquals(Duration.ofDays(1), JobScheduler.delayUntil(CUTOFF, at));
+
+        ZonedDateTime later = ZonedDateTime.of(2025, 3, 10, 18, 50, 0, 0, MANILA);
+        assertEquals(Duration.ofHours(12), JobScheduler.delayUntil(CUTOFF, later));
+    }
+
+    @Test
+    void runLoggedReportsRowsOrFailure() {
+        assertEquals(42, JobScheduler.runLogged("ok", () -> 42));
+        assertEquals(-1, JobScheduler.runLogged("boom", () -> { throw new IllegalStateException("db down"); }));
+    }
+
+    @Test
+    void runNowExecutesRegisteredJobOnSchedulerThread() throws Exception {
+        CountDownLatch ran = new CountDownLatch(1);
+        try (JobScheduler scheduler = new JobScheduler(true, Clock.systemDefaultZone())) {
+            scheduler.scheduleDaily("job", CUTOFF, () -> { ran.countDown(); return 0; });
+            assertThrows(IllegalArgumentException.class, () -> scheduler.scheduleDaily("job", CUTOFF, () -> 0));
+            scheduler.runNow("job");
+            assertTrue(ran.await(2, TimeUnit.SECONDS));
+        }
+    }
+}
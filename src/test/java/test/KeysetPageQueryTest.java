@@ -0,0 +1,48 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dao.Page;
+import dao.PageQuery;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+class KeysetPageQueryTest {
+
+    @Test
+    void continueAfterKeepsFiltersAndMovesCursor() {
+        Date from = Date.valueOf("2024-05-01");
+        Date to = Date.valueOf("2024-06-01");
+        PageQuery first = new PageQuery().employee(10001).status(3).between(from, to).limit(25);
+
+        Timestamp key = Timestamp.valueOf("2024-05-20 00:00:00");
+        PageQuery next = first.continueAfter(key, 42);
+
+        assertEquals(10001, next.getEmployeeID());
+        assertEquals(3, next.getStatusID());
+        assertEquals(from, next.getFrom());
+        assertEquals(to, next.getTo());
+        assertEquals(25, next.getLimit());
+        assertEquals(key, next.getAfterKey());
+        assertEquals(42, next.getAfterID());
+        assertNull(first.getAfterKey(), "original query is left untouched");
+    }
+
+    @Test
+    void limitIsBounded() {
+        assertThrows(IllegalArgumentException.class, () -> new PageQuery().limit(0));
+        assertThrows(IllegalArgumentException.class, () -> new PageQuery().limit(PageQuery.MAX_LIMIT + 1));
+        assertEquals(PageQuery.DEFAULT_LIMIT, new PageQuery().getLimit());
+    }
+
+    @Test
+    void lastPageHasNoNextQuery() {
+        Page<String> last = new Page<>(List.of("a", "b"), null);
+        assertFalse(last.hasMore());
+        assertNull(last.nextQuery());
+        assertThrows(UnsupportedOperationException.class, () -> last.getItems().add("c"));
+    }
+}
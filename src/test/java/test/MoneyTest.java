@@ -0,0 +1,87 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import util.Money;
+import util.MoneySum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void roundsToNearestCentavoHalfAwayFromZero() {
+        assertEquals(101, Money.toCentavos(1.005));    // stored as 1.00499999...
+        assertEquals(-101, Money.toCentavos(-1.005));
+        assertEquals(123456, Money.toCentavos(1234.56));
+        assertEquals(100, Money.toCentavos(1.004));
+        assertEquals(Money.parse("0.13"), Money.of(0.125));
+        assertThrows(ArithmeticException.class, () -> Money.of(Double.NaN));
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        Money rate = Money.parse("535.71");
+        assertEquals(Money.parse("4285.68"), rate.times(8));
+        assertEquals(Money.parse("92142.12"), rate.times(172.0));
+        assertEquals(Money.parse("1350.00"), Money.parse("90000").ratio(3, 200));
+        assertEquals(Money.parse("0.02"), Money.parse("0.03").ratio(1, 2));     // 0.015 -> 0.02
+        assertEquals(Money.parse("-0.02"), Money.parse("-0.03").ratio(1, 2));
+        assertEquals(Money.ZERO, Money.parse("10.10").minus(Money.parse("10.10")));
+        assertThrows(ArithmeticException.class, () -> Money.ofCentavos(Long.MAX_VALUE).plus(Money.ofCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCentavos(-Long.MAX_VALUE).minus(Money.ofCentavos(1)));
+    }
+
+    @Test
+    void formatsWithoutFormatter() {
+        assertEquals("1,234,567.05", Money.parse("1234567.05").toString());
+        assertEquals("1234567.05", Money.parse("1234567.05").toPlainString());
+        assertEquals("-0.50", Money.of(-0.5).toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("999.99", Money.format(999.99));
+        assertEquals(String.format("%,.2f", 98765.4321), Money.format(98765.4321));
+    }
+
+    @Test
+    void sumOfManyAmountsHasNoDrift() {
+        MoneySum sum = new MoneySum();
+        double naive = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum.add(0.10);
+            naive += 0.10;
+        }
+        assertEquals(1_000_000, sum.getCentavos());
+        assertEquals(100_000, sum.getCount());
+        assertNotEquals(10_000.0, naive);    // the double total has drifted
+        assertEquals("10,000.00", sum.toString());
+    }
+
+    /** The deduction-and-total arithmetic gives exactly the BigDecimal result. */
+    @Test
+    void centavoPathMatchesBigDecimalPath() {
+        double[] salaries = {20_000, 25_000.01, 33_333.33, 59_999.99, 60_000, 90_000, 123_456.78};
+
+        BigDecimal bTotal = BigDecimal.ZERO;
+        BigDecimal three = new BigDecimal("0.03"), two = new BigDecimal("0.02");
+        BigDecimal capPh = new BigDecimal("1800"), capPi = new BigDecimal("100"), half = new BigDecimal("2");
+        for (double s : salaries) {
+            BigDecimal b = BigDecimal.valueOf(s).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal ph = b.multiply(three).min(capPh).divide(half, 2, RoundingMode.HALF_UP);
+            BigDecimal pi = b.multiply(two).min(capPi).setScale(2, RoundingMode.HALF_UP);
+            bTotal = bTotal.add(b.subtract(ph).subtract(pi));
+        }
+
+        MoneySum mTotal = new MoneySum();
+        Money capPhHalf = Money.parse("900"), capPi2 = Money.parse("100");
+        for (double s : salaries) {
+            Money m = Money.of(s);
+            Money ph = m.ratio(3, 200).min(capPhHalf);
+            Money pi = m.ratio(2, 100).min(capPi2);
+            mTotal.addCentavos(m.centavos() - ph.centavos() - pi.centavos());
+        }
+
+        assertEquals(bTotal, mTotal.total().toBigDecimal());
+    }
+}
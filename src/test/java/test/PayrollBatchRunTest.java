@@ -0,0 +1,132 @@
+package test;
+
+import dao.PayrollRunDAO;
+import org.junit.jupiter.api.Test;
+import payroll.PayrollBatchRun;
+import pojo.PayrollRunCheckpoint;
+import pojo.Payslip;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollBatchRunTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    /** In-memory stand-in for the payslip, checkpoint and period tables plus the advisory lock. */
+    private static final class FakeRunDAO implements PayrollRunDAO {
+        final List<Integer> employees = IntStream.rangeClosed(1, 23).boxed().collect(Collectors.toList());
+        final List<Payslip> stored = new ArrayList<>();
+        final Set<String> locks = new HashSet<>();
+        PayrollRunCheckpoint checkpoint;
+        boolean closed;
+
+        @Override public synchronized AdvisoryLock tryLock(String name) {
+            if (!locks.add(name)) return null;
+            return () -> { synchronized (this) { locks.remove(name); } };
+        }
+        @Override public PayrollRunCheckpoint getCheckpoint(Date periodStart) { return checkpoint; }
+        @Override public List<Integer> getEmployeeIDsAfter(int after, int limit) {
+            return employees.stream().filter(id -> id > after).limit(limit).collect(Collectors.toList());
+        }
+        @Override public void writeChunk(Date periodStart, List<Payslip> payslips, int lastEmployeeID, String by) {
+            stored.addAll(payslips);
+            int count = checkpoint == null ? 0 : checkpoint.getPayslipCount();
+            int chunks = checkpoint == null ? 0 : checkpoint.getChunks();
+            checkpoint = new PayrollRunCheckpoint(periodStart, lastEmployeeID, count + payslips.size(), chunks + 1, false);
+        }
+        @Override public void finishRun(Date periodStart, Date periodEnd, String closedBy) {
+            closed = true;
+            checkpoint.setFinished(true);
+        }
+        @Override public boolean isPeriodClosed(Date periodStart) { return closed; }
+        @Override public Date getLatestClosedPeriodEnd() { return null; }
+        @Override public Payslip getStoredPayslip(String payslipNo) { return null; }
+        @Override public List<Payslip> getStoredPayslipsByEmployeeID(int id, Date through) { return List.of(); }
+        @Override public List<Payslip> getStoredPayslipsByPeriodEnd(Date from, Date to) { return List.of(); }
+    }
+
+    private final FakeRunDAO dao = new FakeRunDAO();
+    private final List<Integer> loaded = new CopyOnWriteArrayList<>();
+    private volatile int failOnEmployee = -1;
+
+    // Fake view: every employee except multiples of 10 has one payslip
+    private List<Payslip> view(YearMonth month, Collection<Integer> ids) throws SQLException {
+        if (ids.contains(failOnEmployee)) throw new SQLTimeoutException("Statement timeout");
+        loaded.addAll(ids);
+        List<Payslip> rows = new ArrayList<>();
+        for (int id : ids) {
+            if (id % 10 == 0) continue;
+            Payslip p = new Payslip();
+            p.setEmployeeID(id);
+            p.setPayslipNo(month + "-" + id);
+            rows.add(p);
+        }
+        return rows;
+    }
+
+    private PayrollBatchRun run() {
+        return new PayrollBatchRun(dao, this::view, 5, 3);
+    }
+
+    @Test
+    void storesEveryChunkAndClosesThePeriod() throws Exception {
+        PayrollBatchRun.Report report = run().run(MONTH, "finance");
+
+        assertTrue(dao.closed);
+        assertEquals(5, report.getChunks());
+        assertEquals(21, report.getPayslips());
+        assertEquals(21, dao.stored.size());
+        assertFalse(report.isResumed());
+        assertEquals(23, report.getStage(PayrollBatchRun.READ).getItems());
+        assertEquals(21, report.getStage(PayrollBatchRun.WRITE).getItems());
+        // written in employee order even though slices are computed in parallel
+        List<Integer> ids = dao.stored.stream().map(Payslip::getEmployeeID).collect(Collectors.toList());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    void failedRunResumesAfterLastCommittedChunk() throws Exception {
+        failOnEmployee = 13;
+        assertThrows(SQLTimeoutException.class, () -> run().run(MONTH, "finance"));
+        assertFalse(dao.closed);
+        assertEquals(10, dao.checkpoint.getLastEmployeeID());
+        assertTrue(dao.locks.isEmpty(), "lock released after failure");
+
+        failOnEmployee = -1;
+        loaded.clear();
+        PayrollBatchRun.Report report = run().run(MONTH, "finance");
+
+        assertTrue(report.isResumed());
+        assertEquals(10, report.getResumedAfterEmployeeID());
+        assertTrue(loaded.stream().allMatch(id -> id > 10), "stored chunks are not recomputed");
+        assertEquals(21, report.getTotalPayslips());
+        assertEquals(21, new HashSet<>(dao.stored).size());
+        assertEquals(21, dao.stored.stream().map(Payslip::getEmployeeID).distinct().count());
+        assertTrue(dao.closed);
+    }
+
+    @Test
+    void secondRunOfSameMonthIsRejectedWhileLocked() throws Exception {
+        try (PayrollRunDAO.AdvisoryLock other = dao.tryLock(PayrollBatchRun.lockName(MONTH))) {
+            IllegalStateException ex = assertThrows(IllegalStateException.class, () -> run().run(MONTH, "finance"));
+            assertTrue(ex.getMessage().contains("in progress"));
+        }
+        assertTrue(dao.stored.isEmpty());
+
+        run().run(MONTH, "finance");
+        assertThrows(IllegalStateException.class, () -> run().run(MONTH, "finance"), "already closed");
+    }
+}
@@ -0,0 +1,111 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import payroll.PayrollEngine;
+import payroll.PayrollInput;
+import payroll.PayrollSource;
+import payroll.PayslipCalculator;
+import payroll.VerificationReport;
+import pojo.Payslip;
+import util.Money;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayrollEngineTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 6);
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static PayrollInput input(int id, double monthly, double hours, double ot) {
+        return new PayrollInput(id, "Emp " + id, "Staff / Finance",
+                MONTH.atDay(1), MONTH.atEndOfMonth(),
+                monthly, Math.round(monthly / 168 * 100) / 100.0, hours, ot,
+                1500, 1000, 1000, "PS-" + id);
+    }
+
+    @Test
+    void contributionTablesFollowBrackets() {
+        assertEquals(Money.parse("135.00"),  PayslipCalculator.sss(Money.parse("3000")));
+        assertEquals(Money.parse("157.50"),  PayslipCalculator.sss(Money.parse("3250")));
+        assertEquals(Money.parse("1125.00"), PayslipCalculator.sss(Money.parse("90000")));
+
+        assertEquals(Money.parse("150.00"),  PayslipCalculator.philhealth(Money.parse("5000")));
+        assertEquals(Money.parse("900.00"),  PayslipCalculator.philhealth(Money.parse("90000")));
+
+        assertEquals(Money.parse("15.00"),   PayslipCalculator.pagibig(Money.parse("1500")));
+        assertEquals(Money.parse("100.00"),  PayslipCalculator.pagibig(Money.parse("60000")));
+
+        assertEquals(Money.parse("0.00"),    PayslipCalculator.withholdingTax(Money.parse("20832")));
+        assertEquals(Money.parse("2500.00"), PayslipCalculator.withholdingTax(Money.parse("33333")));
+    }
+
+    @Test
+    void takeHomeIsGrossPlusBenefitsLessDeductions() {
+        Payslip p = new PayslipCalculator().compute(input(10001, 90000, 168, 4));
+
+        assertEquals(535.71 * 8, p.getDailyRate(), 0.001);
+        assertEquals(21.0, p.getDaysWorked(), 0.001);
+        assertEquals(172 * 535.71, p.getGrossIncome(), 0.005);
+        assertEquals(3500.0, p.getTotalBenefits(), 0.001);
+        assertEquals(p.getSss() + p.getPhilhealth() + p.getPagibig() + p.getWithholdingTax(),
+                p.getTotalDeductions(), 0.001);
+        assertEquals(p.getGrossIncome() + p.getTotalBenefits() - p.getTotalDeductions(),
+                p.getTakeHomePay(), 0.001);
+        assertEquals("PS-10001", p.getPayslipNo());
+    }
+
+    @Test
+    void wholePeriodRunsInParallelAndKeepsOrder() {
+        List<PayrollInput> inputs = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) inputs.add(input(id, 20000 + id * 100, 160, id % 5));
+
+        List<Payslip> out = engine(inputs, List.of()).runMonth(MONTH);
+
+        assertEquals(500, out.size());
+        for (int i = 0; i < out.size(); i++) assertEquals(i + 1, out.get(i).getEmployeeID());
+    }
+
+    @Test
+    void verifyReportsFieldMismatchesAndMissingEmployees() {
+        PayslipCalculator calc = new PayslipCalculator();
+        List<PayrollInput> inputs = List.of(input(1, 30000, 160, 0), input(2, 40000, 160, 2), input(3, 50000, 120, 0));
+
+        Payslip same = calc.compute(inputs.get(0));
+        Payslip off = calc.compute(inputs.get(1));
+        off.setWithholdingTax(off.getWithholdingTax() + 0.01);   // within tolerance
+        off.setTakeHomePay(off.getTakeHomePay() + 5);
+        Payslip stranger = new Payslip();
+        stranger.setEmployeeID(99);
+
+        VerificationReport report = engine(inputs, List.of(same, off, stranger)).verify(MONTH);
+
+        assertFalse(report.isClean());
+        assertEquals(1, report.getMatched());
+        assertEquals(1, report.getMismatches().size());
+        assertEquals("TAKE_HOME_PAY", report.getMismatches().get(0).getField());
+        assertEquals(2, report.getMismatches().get(0).getEmployeeID());
+        assertEquals(List.of(3), report.getOnlyInEngine());
+        assertEquals(List.of(99), report.getOnlyInView());
+    }
+
+    private PayrollEngine engine(List<PayrollInput> inputs, List<Payslip> view) {
+        PayrollSource source = new PayrollSource() {
+            @Override public List<PayrollInput> loadInputs(YearMonth month) { return inputs; }
+            @Override public List<Payslip> loadViewPayslips(YearMonth month) { return view; }
+        };
+        return new PayrollEngine(new PayslipCalculator(), source, pool);
+    }
+}
@@ -0,0 +1,85 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import daoimpl.ReferenceDataCache;
+import daoimpl.ReferenceDataCache.Table;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class ReferenceDataCacheTest {
+
+    private final Map<Table, Integer> loads = new EnumMap<>(Table.class);
+    private boolean failLoads = false;
+
+    private Map<Integer, String> load(Table t, Map<Integer, Integer> departmentByPosition) throws SQLException {
+        if (failLoads) throw new SQLException("db down");
+        loads.merge(t, 1, Integer::sum);
+        Map<Integer, String> rows = new LinkedHashMap<>();
+        switch (t) {
+            case DEPARTMENT:          rows.put(1, "HR"); rows.put(2, "IT"); break;
+            case POSITION:            rows.put(10, "Developer"); departmentByPosition.put(10, 2); break;
+            default:                  rows.put(1, t.name()); break;
+        }
+        return rows;
+    }
+
+    @Test
+    void tableIsLoadedOnceWithinTtl() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(this::load, 60_000);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("IT", cache.departments().name(2));
+        }
+        assertEquals(1, loads.get(Table.DEPARTMENT));
+        assertEquals(java.util.List.of(1, 2), cache.departments().ids());
+        assertEquals(java.util.List.of("HR", "IT"), cache.departments().names());
+    }
+
+    @Test
+    void unknownIdsGiveEmptyNameAndMinusOneDepartment() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(this::load, 60_000);
+        assertEquals("", cache.departments().name(99));
+        assertEquals(2, cache.departmentIDForPosition(10));
+        assertEquals(-1, cache.departmentIDForPosition(11));
+        assertEquals(1, loads.get(Table.POSITION), "names and departments share one load");
+        cache.refresh(Table.POSITION);
+        assertEquals(2, cache.departmentIDForPosition(10));
+        assertEquals(2, loads.get(Table.POSITION));
+    }
+
+    @Test
+    void refreshAndExpiryReload() throws Exception {
+        ReferenceDataCache cache = new ReferenceDataCache(this::load, 60_000);
+        cache.statuses();
+        cache.refresh();
+        cache.statuses();
+        assertEquals(2, loads.get(Table.STATUS));
+
+        ReferenceDataCache shortLived = new ReferenceDataCache(this::load, 0);
+        shortLived.roles();
+        Thread.sleep(5);
+        shortLived.roles();
+        assertEquals(2, loads.get(Table.ROLE));
+    }
+
+    @Test
+    void failedReloadServesPreviousCopy() throws Exception {
+        ReferenceDataCache cache = new ReferenceDataCache(this::load, 0);
+        assertEquals("LEAVE_TYPE", cache.leaveTypes().name(1));
+        failLoads = true;
+        Thread.sleep(5);
+        assertEquals("LEAVE_TYPE", cache.leaveTypes().name(1));
+        assertThrows(SQLException.class, cache::approvalStatuses, "nothing cached yet");
+    }
+
+    @Test
+    void lookupsAreImmutable() throws SQLException {
+        ReferenceDataCache cache = new ReferenceDataCache(this::load, 60_000);
+        assertThrows(UnsupportedOperationException.class, () -> cache.positions().asMap().put(2, "x"));
+        assertThrows(UnsupportedOperationException.class, () -> cache.positions().ids().add(2));
+    }
+}
@@ -0,0 +1,92 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import util.RefreshScheduler;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshSchedulerTest {
+
+    // Long intervals: only explicit/initial loads happen during a test
+    private static final long HOUR = 3_600_000L;
+
+    private final RefreshScheduler scheduler =
+            new RefreshScheduler(Executors.newSingleThreadExecutor(), Runnable::run, 10);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void identicalSubscriptionsShareOneLoad() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(2);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshScheduler.Subscription a = scheduler.subscribe("pending", HOUR, () -> {
+            release.await();
+            return calls.incrementAndGet();
+        }, v -> { seen.add(v); delivered.countDown(); });
+        RefreshScheduler.Subscription b = scheduler.subscribe("pending", HOUR,
+                () -> { throw new AssertionError("second loader must not run"); },
+                (Integer v) -> { seen.add(v); delivered.countDown(); });
+        release.countDown();
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50); // several ticks: no follow-up load either
+        assertEquals(1, calls.get());
+        assertEquals(List.of(1, 1), seen);
+        assertEquals(1, scheduler.getLoadCount("pending"));
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void lateSubscriberGetsLatestValueWithoutReload() throws Exception {
+        CountDownLatch first = new CountDownLatch(1);
+        scheduler.subscribe("status", HOUR, () -> "in", v -> first.countDown());
+        assertTrue(first.await(2, TimeUnit.SECONDS));
+
+        List<String> seen = new CopyOnWriteArrayList<>();
+        scheduler.subscribe("status", HOUR, () -> "other", seen::add);
+        assertEquals(List.of("in"), seen);
+        assertEquals(1, scheduler.getLoadCount("status"));
+    }
+
+    @Test
+    void refreshNowReloadsAndClosingLastSubscriberDropsFeed() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch twice = new CountDownLatch(2);
+        RefreshScheduler.Subscription sub =
+                scheduler.subscribe("summary", HOUR, calls::incrementAndGet, v -> twice.countDown());
+        while (scheduler.getLoadCount("summary") < 1) Thread.sleep(5);
+
+        scheduler.refreshNow("summary");
+        assertTrue(twice.await(2, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+
+        sub.close();
+        assertFalse(scheduler.getFeedNames().contains("summary"));
+    }
+
+    @Test
+    void shortestIntervalDrivesPeriodicRefresh() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        scheduler.subscribe("count", HOUR, calls::incrementAndGet, v -> { });
+        scheduler.subscribe("count", 20, calls::incrementAndGet, v -> { });
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (calls.get() < 3 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertTrue(calls.get() >= 3, "feed should refresh at the 20 ms interval");
+    }
+}